@@ -0,0 +1,213 @@
+package com.formplatform.benchmarks;
+
+import com.formpresentationreceiver.application.usecase.ProcessPresentationImmediatelyUseCase;
+import com.formpresentationreceiver.application.usecase.ReceiveFormCreatedUseCase;
+import com.formpresentationreceiver.domain.port.input.ProcessPresentationImmediatelyCommand;
+import com.formpresentationreceiver.domain.port.input.ReceiveFormCreatedCommand;
+import com.formpresentationreceiver.domain.port.output.InboxRepository;
+import com.formpresentationreceiver.infrastructure.adapter.input.messaging.FormCreatedEventConsumer;
+import com.formpresentationreceiver.infrastructure.adapter.output.persistence.H2InboxRepository;
+import com.formpresentationreceiver.infrastructure.transaction.BatchingReceiveFormCreatedCommand;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * FormCreatedEventConsumer.consume as run by FormPresentationReceiver: deliveries are handed to a
+ * worker pool of formpresentationreceiver.consumer.concurrency threads, with at most
+ * formpresentationreceiver.consumer.prefetch of them unacknowledged, each parsed, stored in the
+ * inbox and processed immediately (with empty business logic). Inbox inserts go through
+ * BatchingReceiveFormCreatedCommand sized as shipped (max-size = concurrency, 20 ms window) or,
+ * with batch=false, one transaction per delivery; with and without
+ * formpresentationreceiver.inbox.insert-as-claimed.
+ *
+ * One operation is one delivery pushed by the broker: it waits for a prefetch slot, which is freed
+ * when a worker finishes (acknowledges) a delivery, so the throughput is the rate of consumed
+ * deliveries. Run it with -Dbench.threads=1: the benchmark thread plays the broker, the pool does
+ * the work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormCreatedConsumerBenchmark {
+
+    // Kept referenced so the level set below is not lost when the logger is collected
+    private static final Logger USE_CASE_LOG = Logger.getLogger(ReceiveFormCreatedUseCase.class.getName());
+    private static final Logger PROCESS_LOG = Logger.getLogger(ProcessPresentationImmediatelyUseCase.class.getName());
+    private static final Duration BATCH_WINDOW = Duration.ofMillis(20);
+    // quarkus.datasource.jdbc.max-size of the receiver
+    private static final int CONNECTIONS = 136;
+    // formpresentationreceiver.inbox.recent-ids.size of the receiver; fresh ids always miss the filter
+    private static final long RECENT_IDS = 100_000;
+
+    @Param({"1", "16", "128"})
+    int concurrency;
+
+    @Param({"false", "true"})
+    boolean batch;
+
+    @Param({"false", "true"})
+    boolean insertAsClaimed;
+
+    private TransactionalInbox inbox;
+    private ReceiveFormCreatedCommand receiveFormCreatedCommand;
+    private FormCreatedEventConsumer consumer;
+    private ExecutorService workers;
+    private Semaphore prefetch;
+    private int prefetchSize;
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    @Setup(Level.Trial)
+    public void setUp(H2Database database) {
+        USE_CASE_LOG.setLevel(java.util.logging.Level.WARNING);
+        PROCESS_LOG.setLevel(java.util.logging.Level.WARNING);
+        inbox = new TransactionalInbox(database.entityManagerFactory, CONNECTIONS);
+        InboxRepository inboxRepository = inbox.repository();
+        ReceiveFormCreatedCommand useCase = new ReceiveFormCreatedUseCase(inboxRepository, insertAsClaimed);
+        receiveFormCreatedCommand = batch
+                ? new BatchingReceiveFormCreatedCommand(useCase, concurrency, BATCH_WINDOW)
+                : useCase;
+        ProcessPresentationImmediatelyCommand process =
+                new ProcessPresentationImmediatelyUseCase(inboxRepository, presentationId -> { });
+        // As shipped: prefetch is twice the concurrency
+        prefetchSize = 2 * concurrency;
+        consumer = new FormCreatedEventConsumer(receiveFormCreatedCommand, process, concurrency, prefetchSize,
+                CONNECTIONS, insertAsClaimed);
+        workers = Executors.newFixedThreadPool(concurrency);
+        prefetch = new Semaphore(prefetchSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        // Let the deliveries still in flight finish before their database goes away
+        prefetch.acquire(prefetchSize);
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        if (receiveFormCreatedCommand instanceof BatchingReceiveFormCreatedCommand batching) {
+            batching.close();
+        }
+        inbox.close();
+        if (failure.get() != null) {
+            throw new IllegalStateException("Deliveries failed during the trial", failure.get());
+        }
+    }
+
+    @Benchmark
+    public void consume() throws InterruptedException {
+        byte[] message = ("{\"formId\": \"" + UUID.randomUUID() + "\", \"event\": \"FORM_CREATED\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        prefetch.acquire();
+        workers.execute(() -> {
+            try {
+                consumer.consume(message);
+            } catch (RuntimeException e) {
+                // Would be a nack: report it at the end instead of killing the worker
+                failure.compareAndSet(null, e);
+            } finally {
+                prefetch.release();
+            }
+        });
+    }
+
+    /**
+     * The receiver's H2InboxRepository on a resource-local EntityManager per thread, as the
+     * application's EntityManager is bound to the calling thread's transaction. Every call commits
+     * on its own, as the @Transactional methods of H2InboxRepository do, and at most poolSize
+     * transactions run at a time, the others waiting as they would for a pooled connection.
+     */
+    private static final class TransactionalInbox {
+
+        private final ThreadLocal<ResourceLocalTransactions> transactions;
+        private final Queue<EntityManager> entityManagers = new ConcurrentLinkedQueue<>();
+        private final Semaphore connections;
+        private final InboxRepository repository;
+
+        private TransactionalInbox(EntityManagerFactory entityManagerFactory, int poolSize) {
+            this.transactions = ThreadLocal.withInitial(() -> {
+                EntityManager entityManager = entityManagerFactory.createEntityManager();
+                entityManagers.add(entityManager);
+                return new ResourceLocalTransactions(entityManager);
+            });
+            this.connections = new Semaphore(poolSize);
+            H2InboxRepository h2InboxRepository = new H2InboxRepository(
+                    currentThread(EntityManager.class, ResourceLocalTransactions::entityManager),
+                    currentThread(TransactionSynchronizationRegistry.class, current -> current),
+                    RECENT_IDS);
+            this.repository = proxy(InboxRepository.class, (method, args) -> {
+                ResourceLocalTransactions current = transactions.get();
+                connections.acquireUninterruptibly();
+                try {
+                    return current.inTransaction(() -> invoke(method, h2InboxRepository, args));
+                } finally {
+                    connections.release();
+                }
+            });
+        }
+
+        InboxRepository repository() {
+            return repository;
+        }
+
+        void close() {
+            entityManagers.forEach(EntityManager::close);
+        }
+
+        /**
+         * A T that forwards every call to the one of the calling thread's transactions.
+         */
+        private <T> T currentThread(Class<T> type, Function<ResourceLocalTransactions, T> target) {
+            return proxy(type, (method, args) -> invoke(method, target.apply(transactions.get()), args));
+        }
+
+        private static <T> T proxy(Class<T> type, BiFunction<Method, Object[], Object> handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                    (proxy, method, args) -> handler.apply(method, args)));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
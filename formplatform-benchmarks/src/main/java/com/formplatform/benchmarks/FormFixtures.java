@@ -0,0 +1,26 @@
+package com.formplatform.benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Form data of a given size, shaped like a typical submission: flat fields alternating short
+ * strings and numbers.
+ */
+final class FormFixtures {
+
+    private FormFixtures() {
+    }
+
+    static Map<String, Object> form(int fields) {
+        Map<String, Object> form = new LinkedHashMap<>();
+        for (int i = 0; i < fields; i++) {
+            if (i % 2 == 0) {
+                form.put("field" + i, "value of field " + i);
+            } else {
+                form.put("field" + i, i * 31L);
+            }
+        }
+        return form;
+    }
+}
@@ -0,0 +1,69 @@
+package com.formplatform.benchmarks;
+
+import com.formplatform.domain.model.Form;
+import com.formplatform.infrastructure.adapter.output.persistence.FormCache;
+import com.formplatform.infrastructure.adapter.output.persistence.FormDataCodec;
+import com.formplatform.infrastructure.adapter.output.persistence.H2FormRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * H2FormRepository.save: encoding with the storage codec plus the insert, committed on its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormRepositoryBenchmark {
+
+    @Param({"5", "50", "500"})
+    int fields;
+
+    @Param({"json", "smile-deflate"})
+    String format;
+
+    private EntityManager entityManager;
+    private ResourceLocalTransactions transactions;
+    private H2FormRepository formRepository;
+    private Map<String, Object> form;
+
+    @Setup(Level.Trial)
+    public void setUp(H2Database database) {
+        entityManager = database.entityManagerFactory.createEntityManager();
+        transactions = new ResourceLocalTransactions(entityManager);
+        formRepository = new H2FormRepository(
+                new FormDataCodec(new ObjectMapper(), format),
+                entityManager,
+                new FormCache(transactions, 64L * 1024 * 1024, Duration.ofMinutes(10)));
+        form = FormFixtures.form(fields);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public Form save() {
+        return transactions.inTransaction(() -> formRepository.save(new Form(form)));
+    }
+}
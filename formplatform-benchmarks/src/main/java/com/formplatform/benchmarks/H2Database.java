@@ -0,0 +1,71 @@
+package com.formplatform.benchmarks;
+
+import com.formplatform.infrastructure.adapter.output.persistence.FormEntity;
+import com.formplatform.infrastructure.adapter.output.persistence.IdempotencyKeyEntity;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxEventEntity;
+import com.formpresentationreceiver.infrastructure.adapter.output.persistence.InboxEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * File-backed H2 database shared by all benchmark threads of a trial, mapped with the same
+ * entities and JDBC batch size as the application (plus the inbox of FormPresentationReceiver). Recreated empty for every trial under
+ * bench.db.dir (default target/bench-db).
+ */
+@State(Scope.Benchmark)
+public class H2Database {
+
+    private static final int JDBC_BATCH_SIZE = 50;
+    // Enough for the receiver's pool of quarkus.datasource.jdbc.max-size connections in FormCreatedConsumerBenchmark
+    private static final int POOL_SIZE = 136;
+
+    EntityManagerFactory entityManagerFactory;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        directory = Path.of(System.getProperty("bench.db.dir", "target/bench-db")).toAbsolutePath();
+        deleteDirectory(directory);
+
+        entityManagerFactory = new Configuration()
+                .addAnnotatedClass(FormEntity.class)
+                .addAnnotatedClass(OutboxEventEntity.class)
+                .addAnnotatedClass(IdempotencyKeyEntity.class)
+                .addAnnotatedClass(InboxEntity.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:file:" + directory.resolve("formplatform"))
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.connection.pool_size", String.valueOf(POOL_SIZE))
+                .setProperty("hibernate.hbm2ddl.auto", "create")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(JDBC_BATCH_SIZE))
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        entityManagerFactory.close();
+        deleteDirectory(directory);
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
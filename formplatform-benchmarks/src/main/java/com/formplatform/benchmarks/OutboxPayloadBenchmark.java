@@ -0,0 +1,134 @@
+package com.formplatform.benchmarks;
+
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxChannel;
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxEventPublisher;
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxPayloadEncoder;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox event building in OutboxEventPublisher, with compact rows (form id only) or rendered
+ * payloads, isolated from the database by an outbox repository that only keeps the last values it
+ * was given; and rendering one payload with OutboxPayloadEncoder, the publish-time cost of a
+ * compact row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutboxPayloadBenchmark {
+
+    @Param({"1", "100"})
+    int events;
+
+    @Param({"true", "false"})
+    boolean compactRows;
+
+    private CapturingOutboxRepository outboxRepository;
+    private OutboxPayloadEncoder payloadEncoder;
+    private OutboxEventPublisher publisher;
+    private List<UUID> formIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        outboxRepository = new CapturingOutboxRepository();
+        payloadEncoder = new OutboxPayloadEncoder();
+        publisher = new OutboxEventPublisher(outboxRepository, payloadEncoder, new NoOpEvent<>(), compactRows);
+        formIds = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            formIds.add(UUID.randomUUID());
+        }
+    }
+
+    @Benchmark
+    public Object publishFormsCreated() {
+        if (events == 1) {
+            publisher.publishFormCreated(formIds.get(0));
+            return outboxRepository.last;
+        }
+        publisher.publishFormsCreated(formIds);
+        return outboxRepository.lastBatch;
+    }
+
+    @Benchmark
+    public String encodePayload() {
+        return payloadEncoder.encode(OutboxChannel.FORM_CREATED, formIds.get(0));
+    }
+
+    private static final class CapturingOutboxRepository implements OutboxRepository {
+
+        private Object last;
+        private List<?> lastBatch;
+
+        @Override
+        public void save(String channel, String payload) {
+            last = payload;
+        }
+
+        @Override
+        public void saveAll(String channel, List<String> payloads) {
+            lastBatch = payloads;
+        }
+
+        @Override
+        public void saveFormEvent(String channel, UUID formId) {
+            last = formId;
+        }
+
+        @Override
+        public void saveFormEvents(String channel, List<UUID> formIds) {
+            lastBatch = formIds;
+        }
+
+        @Override
+        public List<PendingOutboxEvent> claimPending(String channel, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public void markSentAll(List<Long> ids, String claimToken) {
+        }
+
+        @Override
+        public List<DelayedOutboxEvent> scheduleRetryAll(List<Long> ids, String claimToken, int maxRetries) {
+            return List.of();
+        }
+
+        @Override
+        public List<DelayedOutboxEvent> findDelayed(String channel, int limit) {
+            return List.of();
+        }
+
+        @Override
+        public int promoteDelayed(List<Long> ids) {
+            return 0;
+        }
+
+        @Override
+        public int promoteDue(String channel, int limit) {
+            return 0;
+        }
+
+        @Override
+        public void releaseClaims(List<Long> ids, String claimToken) {
+        }
+    }
+}
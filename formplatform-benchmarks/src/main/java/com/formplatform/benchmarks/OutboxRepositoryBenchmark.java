@@ -0,0 +1,106 @@
+package com.formplatform.benchmarks;
+
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxEventRepository;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository.PendingOutboxEvent;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OutboxEventRepository.save (one event per transaction) and claimPending (one drain of the
+ * OutboxProcessor) over a table pre-filled with pendingEvents PENDING rows. The repository uses a
+ * zero claim lease so every invocation claims from the same backlog, and with several threads the
+ * claims contend on the same oldest rows like concurrent instances would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxRepositoryBenchmark {
+
+    private static final String CHANNEL = "form-created";
+    private static final int POLL_SIZE = 50;
+
+    private EntityManager entityManager;
+    private ResourceLocalTransactions transactions;
+    private OutboxEventRepository outboxRepository;
+    private String payload;
+
+    /**
+     * Backlog of pending events, inserted once per trial before any thread starts.
+     */
+    @State(Scope.Benchmark)
+    public static class PendingBacklog {
+
+        @Param({"10000"})
+        int pendingEvents;
+
+        @Setup(Level.Trial)
+        public void fill(H2Database database) {
+            EntityManager entityManager = database.entityManagerFactory.createEntityManager();
+            try {
+                ResourceLocalTransactions transactions = new ResourceLocalTransactions(entityManager);
+                OutboxEventRepository repository = new OutboxEventRepository(entityManager, Duration.ZERO);
+                List<String> payloads = new ArrayList<>(pendingEvents);
+                for (int i = 0; i < pendingEvents; i++) {
+                    payloads.add(payload(UUID.randomUUID()));
+                }
+                transactions.inTransaction(() -> {
+                    repository.saveAll(CHANNEL, payloads);
+                    return null;
+                });
+            } finally {
+                entityManager.close();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp(H2Database database) {
+        entityManager = database.entityManagerFactory.createEntityManager();
+        transactions = new ResourceLocalTransactions(entityManager);
+        outboxRepository = new OutboxEventRepository(entityManager, Duration.ZERO);
+        payload = payload(UUID.randomUUID());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public Object save() {
+        return transactions.inTransaction(() -> {
+            outboxRepository.save(CHANNEL, payload);
+            return null;
+        });
+    }
+
+    @Benchmark
+    public List<PendingOutboxEvent> claimPending(PendingBacklog backlog) {
+        return transactions.inTransaction(() -> outboxRepository.claimPending(CHANNEL, POLL_SIZE));
+    }
+
+    private static String payload(UUID formId) {
+        return "{\"formId\": \"" + formId + "\", \"event\": \"FORM_CREATED\"}";
+    }
+}
@@ -0,0 +1,100 @@
+package com.formplatform.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Resource-local stand-in for the JTA transactions the application runs in. Work is committed on
+ * one thread-confined EntityManager, interposed synchronizations (FormCache, idempotency cache)
+ * run after completion as they do under Narayana, resources live as long as the transaction, and
+ * the persistence context is cleared after every transaction so it does not grow over the
+ * measurement.
+ */
+final class ResourceLocalTransactions implements TransactionSynchronizationRegistry {
+
+    private final EntityManager entityManager;
+    private final List<Synchronization> synchronizations = new ArrayList<>();
+    private final Map<Object, Object> resources = new HashMap<>();
+
+    ResourceLocalTransactions(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    EntityManager entityManager() {
+        return entityManager;
+    }
+
+    <T> T inTransaction(Supplier<T> work) {
+        EntityTransaction transaction = entityManager.getTransaction();
+        transaction.begin();
+        try {
+            T result = work.get();
+            transaction.commit();
+            complete(Status.STATUS_COMMITTED);
+            return result;
+        } catch (RuntimeException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+            complete(Status.STATUS_ROLLEDBACK);
+            throw e;
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private void complete(int status) {
+        for (Synchronization synchronization : synchronizations) {
+            synchronization.afterCompletion(status);
+        }
+        synchronizations.clear();
+        resources.clear();
+    }
+
+    @Override
+    public void registerInterposedSynchronization(Synchronization synchronization) {
+        synchronizations.add(synchronization);
+    }
+
+    @Override
+    public Object getTransactionKey() {
+        return entityManager.getTransaction().isActive() ? entityManager.getTransaction() : null;
+    }
+
+    @Override
+    public int getTransactionStatus() {
+        return entityManager.getTransaction().isActive() ? Status.STATUS_ACTIVE : Status.STATUS_NO_TRANSACTION;
+    }
+
+    @Override
+    public void putResource(Object key, Object value) {
+        if (!entityManager.getTransaction().isActive()) {
+            throw new IllegalStateException("No transaction is active");
+        }
+        resources.put(key, value);
+    }
+
+    @Override
+    public Object getResource(Object key) {
+        return resources.get(key);
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        entityManager.getTransaction().setRollbackOnly();
+    }
+
+    @Override
+    public boolean getRollbackOnly() {
+        return entityManager.getTransaction().getRollbackOnly();
+    }
+}
@@ -0,0 +1,79 @@
+package com.formplatform.benchmarks;
+
+import com.formplatform.application.usecase.SubmitFormUseCase;
+import com.formplatform.domain.port.input.SubmitFormCommand;
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxEventPublisher;
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxPayloadEncoder;
+import com.formplatform.infrastructure.adapter.output.persistence.FormCache;
+import com.formplatform.infrastructure.adapter.output.persistence.FormDataCodec;
+import com.formplatform.infrastructure.adapter.output.persistence.H2FormRepository;
+import com.formplatform.infrastructure.adapter.output.persistence.H2IdempotencyKeyRepository;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SubmitFormUseCase.execute end to end: form insert, outbox insert and commit against the
+ * file-backed H2, one transaction per submission as in POST /api/forms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmitFormBenchmark {
+
+    @Param({"5", "50", "500"})
+    int fields;
+
+    @Param({"json", "smile-deflate"})
+    String format;
+
+    private EntityManager entityManager;
+    private ResourceLocalTransactions transactions;
+    private SubmitFormCommand submitFormCommand;
+    private Map<String, Object> form;
+
+    @Setup(Level.Trial)
+    public void setUp(H2Database database) {
+        entityManager = database.entityManagerFactory.createEntityManager();
+        transactions = new ResourceLocalTransactions(entityManager);
+        FormCache formCache = new FormCache(transactions, 64L * 1024 * 1024, Duration.ofMinutes(10));
+        FormDataCodec formDataCodec = new FormDataCodec(new ObjectMapper(), format);
+        submitFormCommand = new SubmitFormUseCase(
+                new H2FormRepository(formDataCodec, entityManager, formCache),
+                new OutboxEventPublisher(new OutboxEventRepository(entityManager, Duration.ofSeconds(60)),
+                        new OutboxPayloadEncoder(), new NoOpEvent<>(), true),
+                new H2IdempotencyKeyRepository(entityManager, transactions, Duration.ofHours(24), 100_000, 1_000_000));
+        form = FormFixtures.form(fields);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public UUID execute() {
+        return transactions.inTransaction(() -> submitFormCommand.execute(form));
+    }
+}
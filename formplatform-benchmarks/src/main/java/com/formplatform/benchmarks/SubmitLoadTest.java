@@ -0,0 +1,155 @@
+package com.formplatform.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load test of POST /api/forms against a running server, reporting throughput and latency.
+ *
+ * Not a JMH benchmark: run it with
+ * java -cp formplatform-benchmarks/target/benchmarks.jar com.formplatform.benchmarks.SubmitLoadTest,
+ * once against a server started with quarkus.virtual-threads.enabled=false (worker pool) and once
+ * against a server on a Java 21 runtime (virtual threads) to compare both execution modes.
+ */
+@Command(
+    name = "submit-load-test",
+    mixinStandardHelpOptions = true,
+    description = "Send concurrent form submissions and report throughput and latency"
+)
+public class SubmitLoadTest implements Callable<Integer> {
+
+    @Option(names = {"-u", "--url"}, description = "Base URL of the API (default: http://localhost:8080)")
+    private String baseUrl = "http://localhost:8080";
+
+    @Option(names = {"-n", "--requests"}, description = "Total number of submissions (default: 10000)")
+    private int requests = 10000;
+
+    @Option(names = {"-c", "--concurrency"}, description = "Number of concurrent clients (default: 64)")
+    private int concurrency = 64;
+
+    @Option(names = {"-s", "--fields"}, description = "Number of fields per form (default: 10)")
+    private int fields = 10;
+
+    @Option(names = {"-w", "--warmup"}, description = "Warm-up submissions not included in the results (default: 1000)")
+    private int warmup = 1000;
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine(new SubmitLoadTest()).execute(args));
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        Map<String, Object> formData = new HashMap<>();
+        for (int i = 0; i < fields; i++) {
+            formData.put("field" + i, "value-" + i);
+        }
+        String requestBody = new ObjectMapper().writeValueAsString(formData);
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(baseUrl + "/api/forms"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+            .build();
+
+        // HttpClient has no close() on Java 17: its executor is owned, and shut down, here
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .build();
+
+            if (warmup > 0) {
+                System.out.println("Warming up with " + warmup + " submissions...");
+                run(clients, client, request, warmup);
+            }
+
+            System.out.println("Sending " + requests + " submissions with " + concurrency + " concurrent clients...");
+            long start = System.nanoTime();
+            LoadResult result = run(clients, client, request, requests);
+            long elapsedNanos = System.nanoTime() - start;
+
+            long[] latencies = result.latenciesMicros();
+            Arrays.sort(latencies);
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("Throughput: %.1f req/s (%d ok, %d errors in %.2f s)%n",
+                result.ok() / seconds, result.ok(), result.errors(), seconds);
+            System.out.printf("Latency ms: p50=%.2f p95=%.2f p99=%.2f max=%.2f%n",
+                percentile(latencies, 50), percentile(latencies, 95), percentile(latencies, 99),
+                percentile(latencies, 100));
+            return result.errors() == 0 ? 0 : 1;
+        } finally {
+            clients.shutdownNow();
+            httpExecutor.shutdownNow();
+        }
+    }
+
+    private LoadResult run(ExecutorService clients, HttpClient client, HttpRequest request, int total) throws Exception {
+        AtomicInteger remaining = new AtomicInteger(total);
+        AtomicInteger errors = new AtomicInteger();
+        List<Future<long[]>> futures = new ArrayList<>(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[total];
+                int count = 0;
+                while (remaining.getAndDecrement() > 0) {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 201) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    latencies[count++] = (System.nanoTime() - sent) / 1000;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        List<long[]> perClient = new ArrayList<>(concurrency);
+        int ok = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            perClient.add(latencies);
+            ok += latencies.length;
+        }
+
+        long[] all = new long[ok];
+        int offset = 0;
+        for (long[] latencies : perClient) {
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        return new LoadResult(ok, errors.get(), all);
+    }
+
+    private static double percentile(long[] sortedMicros, int percentile) {
+        if (sortedMicros.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sortedMicros.length) - 1;
+        return sortedMicros[Math.max(0, index)] / 1000.0;
+    }
+
+    private record LoadResult(int ok, int errors, long[] latenciesMicros) {}
+}
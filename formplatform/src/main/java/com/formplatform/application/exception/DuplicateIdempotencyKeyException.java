@@ -0,0 +1,13 @@
+package com.formplatform.application.exception;
+
+/**
+ * Thrown when a concurrent submission registered the same Idempotency-Key first. The unit of work
+ * that created the duplicate form must be rolled back; retrying the submission returns the
+ * original form id.
+ */
+public class DuplicateIdempotencyKeyException extends RuntimeException {
+
+    public DuplicateIdempotencyKeyException(String idempotencyKey, Throwable cause) {
+        super("Idempotency key already registered: " + idempotencyKey, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.formplatform.application.exception;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a requested form does not exist.
+ */
+public class FormNotFoundException extends RuntimeException {
+
+    public FormNotFoundException(UUID id) {
+        super("Form not found: " + id);
+    }
+}
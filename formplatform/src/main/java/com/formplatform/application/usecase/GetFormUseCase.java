@@ -0,0 +1,29 @@
+package com.formplatform.application.usecase;
+
+import com.formplatform.application.exception.FormNotFoundException;
+import com.formplatform.domain.model.Form;
+import com.formplatform.domain.port.input.GetFormQuery;
+import com.formplatform.domain.port.output.FormRepository;
+
+import java.util.UUID;
+
+/**
+ * Use case for reading a submitted form by its id
+ */
+public class GetFormUseCase implements GetFormQuery {
+
+    private final FormRepository formRepository;
+
+    public GetFormUseCase(FormRepository formRepository) {
+        this.formRepository = formRepository;
+    }
+
+    @Override
+    public Form execute(UUID id) {
+        Form form = formRepository.findById(id);
+        if (form == null) {
+            throw new FormNotFoundException(id);
+        }
+        return form;
+    }
+}
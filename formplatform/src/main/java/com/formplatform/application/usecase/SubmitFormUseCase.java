@@ -2,12 +2,17 @@ package com.formplatform.application.usecase;
 
 import com.formplatform.application.exception.InvalidFormException;
 import com.formplatform.domain.model.Form;
+import com.formplatform.domain.model.RawFormData;
 import com.formplatform.domain.port.input.SubmitFormCommand;
 import com.formplatform.domain.port.output.EventPublisher;
 import com.formplatform.domain.port.output.FormRepository;
+import com.formplatform.domain.port.output.IdempotencyKeyRepository;
 import jakarta.transaction.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -15,30 +20,116 @@ import java.util.UUID;
  */
 public class SubmitFormUseCase implements SubmitFormCommand {
 
+    static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final FormRepository formRepository;
     private final EventPublisher eventPublisher;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
 
-    public SubmitFormUseCase(FormRepository formRepository, EventPublisher eventPublisher) {
+    public SubmitFormUseCase(FormRepository formRepository, EventPublisher eventPublisher,
+                             IdempotencyKeyRepository idempotencyKeyRepository) {
         this.formRepository = formRepository;
         this.eventPublisher = eventPublisher;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
     }
 
     @Override
     @Transactional
-    public UUID execute(Map<String, Object> formData) {
-        if (formData == null || formData.isEmpty()) {
-            throw new InvalidFormException("Form data cannot be empty");
+    public UUID execute(Map<String, Object> formData, String idempotencyKey) {
+        // A retried submission returns the original form without writing anything
+        Optional<UUID> existingId = findExisting(idempotencyKey);
+        if (existingId.isPresent()) {
+            return existingId.get();
         }
 
+        validate(formData);
+
         // Create domain entity
         Form form = new Form(formData);
 
+        return submit(form, idempotencyKey);
+    }
+
+    @Override
+    @Transactional
+    public UUID executeRaw(RawFormData formData, String idempotencyKey) {
+        Optional<UUID> existingId = findExisting(idempotencyKey);
+        if (existingId.isPresent()) {
+            return existingId.get();
+        }
+
+        if (formData == null || formData.isEmpty()) {
+            throw new InvalidFormException("Form data cannot be empty");
+        }
+
+        return submit(new Form(formData), idempotencyKey);
+    }
+
+    private Optional<UUID> findExisting(String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Optional.empty();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidFormException(
+                    "Idempotency key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        return idempotencyKeyRepository.findFormId(idempotencyKey);
+    }
+
+    private UUID submit(Form form, String idempotencyKey) {
         // Save to repository
         Form savedForm = formRepository.save(form);
 
+        if (idempotencyKey != null) {
+            idempotencyKeyRepository.save(idempotencyKey, savedForm.getId());
+        }
+
         // Publish event
         eventPublisher.publishFormCreated(savedForm.getId());
 
         return savedForm.getId();
     }
+
+    @Override
+    @Transactional
+    public List<SubmissionResult> executeBatch(List<Map<String, Object>> forms) {
+        if (forms == null || forms.isEmpty()) {
+            throw new InvalidFormException("Batch cannot be empty");
+        }
+
+        // Validate every element first; invalid ones are reported, valid ones go to the batch
+        SubmissionResult[] results = new SubmissionResult[forms.size()];
+        List<Form> toSave = new ArrayList<>(forms.size());
+        List<Integer> positions = new ArrayList<>(forms.size());
+        for (int i = 0; i < forms.size(); i++) {
+            Map<String, Object> formData = forms.get(i);
+            try {
+                validate(formData);
+                toSave.add(new Form(formData));
+                positions.add(i);
+            } catch (InvalidFormException e) {
+                results[i] = SubmissionResult.failure(e.getMessage());
+            }
+        }
+
+        if (!toSave.isEmpty()) {
+            List<Form> savedForms = formRepository.saveAll(toSave);
+
+            List<UUID> ids = new ArrayList<>(savedForms.size());
+            for (int i = 0; i < savedForms.size(); i++) {
+                UUID id = savedForms.get(i).getId();
+                ids.add(id);
+                results[positions.get(i)] = SubmissionResult.success(id);
+            }
+            eventPublisher.publishFormsCreated(ids);
+        }
+
+        return List.of(results);
+    }
+
+    private void validate(Map<String, Object> formData) {
+        if (formData == null || formData.isEmpty()) {
+            throw new InvalidFormException("Form data cannot be empty");
+        }
+    }
 }
@@ -10,6 +10,7 @@ import java.util.UUID;
 public class Form {
     private UUID id;
     private Map<String, Object> data;
+    private RawFormData rawData;
     private LocalDateTime createdAt;
 
     public Form() {
@@ -20,6 +21,14 @@ public class Form {
         this.createdAt = LocalDateTime.now();
     }
 
+    /**
+     * Form submitted as raw JSON; data stays null until the form is read back from the repository
+     */
+    public Form(RawFormData rawData) {
+        this.rawData = rawData;
+        this.createdAt = LocalDateTime.now();
+    }
+
     public Form(UUID id, Map<String, Object> data, LocalDateTime createdAt) {
         this.id = id;
         this.data = data;
@@ -42,6 +51,14 @@ public class Form {
         this.data = data;
     }
 
+    public RawFormData getRawData() {
+        return rawData;
+    }
+
+    public void setRawData(RawFormData rawData) {
+        this.rawData = rawData;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
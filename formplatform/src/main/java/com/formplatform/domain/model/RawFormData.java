@@ -0,0 +1,13 @@
+package com.formplatform.domain.model;
+
+/**
+ * Form data kept as the original JSON bytes of a submission, without building a Map.
+ * topLevelFieldCount is the number of fields of the root JSON object, determined while the
+ * bytes were validated by the input adapter.
+ */
+public record RawFormData(byte[] json, int topLevelFieldCount) {
+
+    public boolean isEmpty() {
+        return json == null || topLevelFieldCount == 0;
+    }
+}
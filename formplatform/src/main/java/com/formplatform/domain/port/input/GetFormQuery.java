@@ -0,0 +1,12 @@
+package com.formplatform.domain.port.input;
+
+import com.formplatform.domain.model.Form;
+
+import java.util.UUID;
+
+/**
+ * Input port for reading a submitted form
+ */
+public interface GetFormQuery {
+    Form execute(UUID id);
+}
@@ -1,5 +1,8 @@
 package com.formplatform.domain.port.input;
 
+import com.formplatform.domain.model.RawFormData;
+
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -7,5 +10,47 @@ import java.util.UUID;
  * Input port for submitting forms
  */
 public interface SubmitFormCommand {
-    UUID execute(Map<String, Object> formData);
+    default UUID execute(Map<String, Object> formData) {
+        return execute(formData, null);
+    }
+
+    /**
+     * Submit a form with an optional client-supplied idempotency key. If the key was already used,
+     * the id of the form created by that first submission is returned and nothing is written.
+     */
+    UUID execute(Map<String, Object> formData, String idempotencyKey);
+
+    /**
+     * Submit a form given as its original JSON bytes; the bytes are stored without building a Map.
+     */
+    default UUID executeRaw(RawFormData formData) {
+        return executeRaw(formData, null);
+    }
+
+    UUID executeRaw(RawFormData formData, String idempotencyKey);
+
+    /**
+     * Submit several forms at once. Valid forms are persisted together with their events
+     * in a single unit of work; invalid ones are reported without aborting the rest.
+     * Results are returned in the same order as the input.
+     */
+    List<SubmissionResult> executeBatch(List<Map<String, Object>> forms);
+
+    /**
+     * Outcome of one element of a batch: either the generated form id or a validation error.
+     */
+    record SubmissionResult(UUID id, String error) {
+
+        public static SubmissionResult success(UUID id) {
+            return new SubmissionResult(id, null);
+        }
+
+        public static SubmissionResult failure(String error) {
+            return new SubmissionResult(null, error);
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.formplatform.domain.port.output;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -7,4 +8,6 @@ import java.util.UUID;
  */
 public interface EventPublisher {
     void publishFormCreated(UUID formId);
+
+    void publishFormsCreated(List<UUID> formIds);
 }
@@ -2,6 +2,7 @@ package com.formplatform.domain.port.output;
 
 import com.formplatform.domain.model.Form;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -9,5 +10,11 @@ import java.util.UUID;
  */
 public interface FormRepository {
     Form save(Form form);
+
+    /**
+     * Persist several forms in one round of batched inserts. Returns the forms with their ids assigned.
+     */
+    List<Form> saveAll(List<Form> forms);
+
     Form findById(UUID id);
 }
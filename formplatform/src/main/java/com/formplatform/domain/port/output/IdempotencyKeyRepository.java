@@ -0,0 +1,19 @@
+package com.formplatform.domain.port.output;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port for the Idempotency-Key index: maps a client-supplied key to the id of the form
+ * created by the first submission that used it.
+ */
+public interface IdempotencyKeyRepository {
+
+    Optional<UUID> findFormId(String idempotencyKey);
+
+    /**
+     * Record the key for a newly created form within the current unit of work. Fails if another
+     * submission registered the same key concurrently, so at most one form is kept per key.
+     */
+    void save(String idempotencyKey, UUID formId);
+}
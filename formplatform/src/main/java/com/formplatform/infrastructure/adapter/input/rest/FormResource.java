@@ -1,31 +1,103 @@
 package com.formplatform.infrastructure.adapter.input.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formplatform.application.exception.DuplicateIdempotencyKeyException;
+import com.formplatform.application.exception.FormNotFoundException;
 import com.formplatform.application.exception.InvalidFormException;
+import com.formplatform.domain.model.Form;
+import com.formplatform.domain.model.RawFormData;
+import com.formplatform.domain.port.input.GetFormQuery;
 import com.formplatform.domain.port.input.SubmitFormCommand;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.quarkus.virtual.threads.VirtualThreads;
 import jakarta.inject.Inject;
-import jakarta.validation.Valid;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 
 /**
  * REST input adapter for Form operations
+ *
+ * Submission endpoints block on JPA/H2, so their work is dispatched to the Quarkus virtual-thread
+ * executor: on a Java 21+ runtime each in-flight submission gets its own
+ * virtual thread instead of holding a worker. With quarkus.virtual-threads.enabled=false, or on
+ * Java 17, the same executor falls back to the regular worker pool.
+ *
+ * With formplatform.submit.raw-ingestion.enabled=true single submissions are not bound to a Map:
+ * the body is validated in one streaming pass and its original bytes are handed to the use case.
+ *
+ * Single submissions accept an Idempotency-Key header: a retry with the same key returns the id of
+ * the form created by the first request instead of creating a new form and a new event.
  */
 @Path("/api/forms")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 public class FormResource {
 
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final TypeReference<Map<String, Object>> FORM_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<Map<String, Object>>> FORMS_TYPE = new TypeReference<>() {};
+
     @Inject
     SubmitFormCommand submitFormCommand;
 
+    @Inject
+    GetFormQuery getFormQuery;
+
+    @Inject
+    @VirtualThreads
+    ExecutorService ingestExecutor;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    @ConfigProperty(name = "formplatform.submit.raw-ingestion.enabled", defaultValue = "false")
+    boolean rawIngestion;
+
+    @ConfigProperty(name = "formplatform.import.max-line-size", defaultValue = "1M")
+    MemorySize importMaxLineSize;
+
     @POST
-    public Response submitForm(@Valid Map<String, Object> formData) {
+    public CompletionStage<Response> submitForm(byte[] body, @HeaderParam(IDEMPOTENCY_KEY) String idempotencyKey) {
+        return CompletableFuture.supplyAsync(() -> doSubmitForm(body, idempotencyKey), ingestExecutor);
+    }
+
+    private Response doSubmitForm(byte[] body, String idempotencyKey) {
         try {
-            UUID formId = submitFormCommand.execute(formData);
+            UUID formId;
+            if (rawIngestion) {
+                RawFormData formData = RawJsonFormScanner.scan(objectMapper.getFactory(), body);
+                // Raw submissions are never grouped, so with or without a key they commit here
+                formId = inTransaction(() -> submitFormCommand.executeRaw(formData, idempotencyKey));
+            } else {
+                Map<String, Object> formData = readForm(body);
+                validate(formData);
+                formId = submit(idempotencyKey, () -> submitFormCommand.execute(formData, idempotencyKey));
+            }
             return Response.status(Response.Status.CREATED)
                     .entity(Map.of(
                             "id", formId.toString(),
@@ -36,6 +108,166 @@ public class FormResource {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(Map.of("error", e.getMessage()))
                     .build();
+        } catch (JsonProcessingException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Malformed JSON: " + e.getOriginalMessage()))
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading form data", e);
+        }
+    }
+
+    /**
+     * Keyed submissions run in one transaction so the form, its outbox event and the key commit
+     * together. Unkeyed ones are left to the command, which groups them when group commit is on.
+     */
+    private UUID submit(String idempotencyKey, Supplier<UUID> submission) {
+        if (idempotencyKey == null) {
+            return submission.get();
+        }
+        return inTransaction(submission);
+    }
+
+    /**
+     * Opens the transaction here because the use case is produced by BeanConfiguration and
+     * therefore is not intercepted. When a concurrent request with the same key commits first, this
+     * transaction is rolled back and the submission is repeated, which now returns the winner's
+     * form id.
+     */
+    private UUID inTransaction(Supplier<UUID> submission) {
+        try {
+            return QuarkusTransaction.requiringNew().call(submission::get);
+        } catch (DuplicateIdempotencyKeyException e) {
+            return QuarkusTransaction.requiringNew().call(submission::get);
+        }
+    }
+
+    private Map<String, Object> readForm(byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        return objectMapper.readValue(body, FORM_TYPE);
+    }
+
+    /**
+     * Cascades Bean Validation into the form values, as @Valid did when the form was bound as a
+     * Map parameter.
+     */
+    private void validate(Map<String, Object> formData) {
+        if (formData == null) {
+            return;
+        }
+        for (Object value : formData.values()) {
+            if (value == null) {
+                continue;
+            }
+            Set<ConstraintViolation<Object>> violations = validator.validate(value);
+            if (!violations.isEmpty()) {
+                throw new InvalidFormException(violations.iterator().next().getMessage());
+            }
+        }
+    }
+
+    /**
+     * Submits an array of forms in a single transaction. Every element gets its own entry in the
+     * response (same order as the request) with either the generated id or the validation error.
+     * The body is taken as bytes and parsed on the ingest executor, like a single submission, so up
+     * to MAX_BATCH_SIZE forms are never deserialized on the event loop. The transaction is opened
+     * here because the use case is produced by BeanConfiguration and therefore is not intercepted.
+     */
+    @POST
+    @Path("/batch")
+    public CompletionStage<Response> submitBatch(byte[] body) {
+        return CompletableFuture.supplyAsync(() -> doSubmitBatch(body), ingestExecutor);
+    }
+
+    private Response doSubmitBatch(byte[] body) {
+        List<Map<String, Object>> forms;
+        try {
+            forms = readForms(body);
+        } catch (JsonProcessingException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Malformed JSON: " + e.getOriginalMessage()))
+                    .build();
+        } catch (IOException e) {
+            throw new RuntimeException("Error reading form data", e);
+        }
+        if (forms != null && forms.size() > MAX_BATCH_SIZE) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", "Batch cannot contain more than " + MAX_BATCH_SIZE + " forms"))
+                    .build();
+        }
+        return QuarkusTransaction.requiringNew().call(() -> executeBatch(forms));
+    }
+
+    private List<Map<String, Object>> readForms(byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        return objectMapper.readValue(body, FORMS_TYPE);
+    }
+
+    private Response executeBatch(List<Map<String, Object>> forms) {
+        try {
+            List<SubmitFormCommand.SubmissionResult> results = submitFormCommand.executeBatch(forms);
+
+            List<Map<String, Object>> entries = new ArrayList<>(results.size());
+            int accepted = 0;
+            for (int i = 0; i < results.size(); i++) {
+                SubmitFormCommand.SubmissionResult result = results.get(i);
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("index", i);
+                if (result.isSuccess()) {
+                    entry.put("id", result.id().toString());
+                    accepted++;
+                } else {
+                    entry.put("error", result.error());
+                }
+                entries.add(entry);
+            }
+
+            return Response.ok(Map.of(
+                            "accepted", accepted,
+                            "rejected", results.size() - accepted,
+                            "results", entries
+                    ))
+                    .build();
+        } catch (InvalidFormException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
+    }
+
+    /**
+     * Bulk import of newline-delimited JSON forms (one JSON object per line). The body is read
+     * incrementally and committed in bounded chunks; the response streams one NDJSON line per
+     * input line with either the generated id or the error for that line. Lines longer than
+     * formplatform.import.max-line-size are reported as errors instead of being buffered.
+     */
+    @POST
+    @Path("/import")
+    @Consumes(NDJSON)
+    @Produces(NDJSON)
+    public Response importForms(InputStream body) {
+        return Response.ok(new NdjsonFormImport(body, submitFormCommand, objectMapper,
+                Math.toIntExact(importMaxLineSize.asLongValue()))).build();
+    }
+
+    @GET
+    @Path("/{id}")
+    public Response getForm(@PathParam("id") UUID id) {
+        try {
+            Form form = getFormQuery.execute(id);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("id", form.getId().toString());
+            body.put("data", form.getData());
+            body.put("createdAt", form.getCreatedAt() != null ? form.getCreatedAt().toString() : null);
+            return Response.ok(body).build();
+        } catch (FormNotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
         }
     }
 
@@ -0,0 +1,76 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Lifts quarkus.http.limits.max-body-size for POST /api/forms/import only, up to
+ * formplatform.import.max-body-size. Every other route keeps the global limit, so the buffered
+ * endpoints (POST /api/forms, POST /api/forms/batch) cannot be made to hold gigabytes in memory.
+ *
+ * Quarkus enforces the global limit in a router handler at order UPLOAD_LIMIT_ORDER: it rejects a
+ * larger Content-Length up front and otherwise stores the limit in the routing context, where the
+ * request InputStream reads it. For the import route the Content-Length is checked against the
+ * import limit here and hidden from that handler, then restored right after it together with the
+ * import limit.
+ */
+@ApplicationScoped
+public class ImportBodyLimit {
+
+    static final String IMPORT_PATH = "/api/forms/import";
+
+    // io.quarkus.vertx.http.runtime.RouteConstants.ROUTE_ORDER_UPLOAD_LIMIT
+    private static final int UPLOAD_LIMIT_ORDER = -2;
+    // Context key the global limit handler stores the limit under, read by the request InputStream
+    private static final String MAX_REQUEST_SIZE_KEY = "io.quarkus.max-request-size";
+    private static final String CONTENT_LENGTH_KEY = ImportBodyLimit.class.getName() + ".content-length";
+
+    private final long maxBodySize;
+
+    public ImportBodyLimit(
+            @ConfigProperty(name = "formplatform.import.max-body-size", defaultValue = "8G") MemorySize maxBodySize) {
+        this.maxBodySize = maxBodySize.asLongValue();
+    }
+
+    void registerRoutes(@Observes Router router) {
+        router.post(IMPORT_PATH).order(UPLOAD_LIMIT_ORDER - 1).handler(this::checkContentLength);
+        router.post(IMPORT_PATH).order(UPLOAD_LIMIT_ORDER + 1).handler(this::applyImportLimit);
+    }
+
+    private void checkContentLength(RoutingContext context) {
+        String contentLength = context.request().headers().get(HttpHeaderNames.CONTENT_LENGTH);
+        if (contentLength != null) {
+            long length;
+            try {
+                length = Long.parseLong(contentLength);
+            } catch (NumberFormatException e) {
+                // Leave a malformed header to the global limit handler
+                context.next();
+                return;
+            }
+            if (length > maxBodySize) {
+                context.response().headers().add(HttpHeaderNames.CONNECTION, "close");
+                context.response().setStatusCode(HttpResponseStatus.REQUEST_ENTITY_TOO_LARGE.code()).end();
+                return;
+            }
+            context.put(CONTENT_LENGTH_KEY, contentLength);
+            context.request().headers().remove(HttpHeaderNames.CONTENT_LENGTH);
+        }
+        context.next();
+    }
+
+    private void applyImportLimit(RoutingContext context) {
+        String contentLength = context.get(CONTENT_LENGTH_KEY);
+        if (contentLength != null) {
+            context.request().headers().set(HttpHeaderNames.CONTENT_LENGTH, contentLength);
+        }
+        context.put(MAX_REQUEST_SIZE_KEY, maxBodySize);
+        context.next();
+    }
+}
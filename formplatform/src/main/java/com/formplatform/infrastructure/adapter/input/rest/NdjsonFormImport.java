@@ -0,0 +1,283 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.formplatform.domain.port.input.SubmitFormCommand;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams an NDJSON import: reads one form per line from the request body, commits forms and
+ * their outbox events in chunks through SubmitFormCommand.executeBatch, and writes one NDJSON
+ * result line per input line as soon as its chunk is committed.
+ *
+ * Memory use does not depend on the input size: the body is split into lines on raw bytes, no line
+ * is buffered beyond maxLineBytes (a longer line, or a body without newlines, is skipped and
+ * reported), each line is read by a Jackson streaming parser over its bytes, and a chunk is
+ * committed once it holds CHUNK_SIZE lines or CHUNK_BYTES bytes of input, whichever comes first.
+ *
+ * Blank lines are ignored. A malformed line, a line that is not exactly one JSON object, or an
+ * oversized line is reported and does not stop the import; a failed commit reports the lines of
+ * that chunk and aborts the rest of the import.
+ */
+class NdjsonFormImport implements StreamingOutput {
+
+    private static final Logger log = LoggerFactory.getLogger(NdjsonFormImport.class);
+    private static final int CHUNK_SIZE = 500;
+    private static final long CHUNK_BYTES = 8 * 1024 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final TypeReference<Map<String, Object>> FORM_TYPE = new TypeReference<>() {};
+
+    private final InputStream body;
+    private final SubmitFormCommand submitFormCommand;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader formReader;
+    private final int maxLineBytes;
+
+    NdjsonFormImport(InputStream body, SubmitFormCommand submitFormCommand, ObjectMapper objectMapper, int maxLineBytes) {
+        this.body = body;
+        this.submitFormCommand = submitFormCommand;
+        this.objectMapper = objectMapper;
+        this.formReader = objectMapper.readerFor(FORM_TYPE);
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            // Separates root-level values with a newline, which is exactly NDJSON
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            if (importLines(new LineReader(body, maxLineBytes), generator)) {
+                // Terminates the last result line
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * Returns true if at least one result line was written.
+     */
+    private boolean importLines(LineReader reader, JsonGenerator generator) throws IOException {
+        Chunk chunk = new Chunk();
+        boolean wroteResults = false;
+        while (reader.next()) {
+            if (reader.isBlank()) {
+                continue;
+            }
+            chunk.add(reader);
+            if (chunk.size() >= CHUNK_SIZE || chunk.bytes >= CHUNK_BYTES) {
+                wroteResults = true;
+                if (!commit(chunk, generator)) {
+                    return true;
+                }
+                chunk = new Chunk();
+            }
+        }
+        if (chunk.size() > 0) {
+            wroteResults = true;
+            commit(chunk, generator);
+        }
+        return wroteResults;
+    }
+
+    /**
+     * Persists the valid forms of the chunk in one transaction and writes its result lines.
+     * Returns false if the transaction failed and the import must stop.
+     */
+    private boolean commit(Chunk chunk, JsonGenerator generator) throws IOException {
+        List<SubmitFormCommand.SubmissionResult> results = null;
+        String abortReason = null;
+        if (!chunk.forms.isEmpty()) {
+            try {
+                results = QuarkusTransaction.requiringNew().call(() -> submitFormCommand.executeBatch(chunk.forms));
+            } catch (RuntimeException e) {
+                log.error("NDJSON import aborted at line {}: {}", chunk.lineNumbers.get(0), e.getMessage(), e);
+                abortReason = "Import aborted: " + e.getMessage();
+            }
+        }
+
+        int formIndex = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            generator.writeStartObject();
+            generator.writeNumberField("line", chunk.lineNumbers.get(i));
+            String parseError = chunk.parseErrors.get(i);
+            if (parseError != null) {
+                generator.writeStringField("error", parseError);
+            } else if (abortReason != null) {
+                generator.writeStringField("error", abortReason);
+            } else {
+                SubmitFormCommand.SubmissionResult result = results.get(formIndex++);
+                if (result.isSuccess()) {
+                    generator.writeStringField("id", result.id().toString());
+                } else {
+                    generator.writeStringField("error", result.error());
+                }
+            }
+            generator.writeEndObject();
+        }
+        generator.flush();
+        return abortReason == null;
+    }
+
+    /**
+     * Lines of one chunk in input order. parseErrors holds null for lines whose form went into forms.
+     */
+    private class Chunk {
+        private final List<Long> lineNumbers = new ArrayList<>(CHUNK_SIZE);
+        private final List<String> parseErrors = new ArrayList<>(CHUNK_SIZE);
+        private final List<Map<String, Object>> forms = new ArrayList<>(CHUNK_SIZE);
+        private long bytes;
+
+        void add(LineReader line) throws IOException {
+            lineNumbers.add(line.lineNumber());
+            bytes += line.length();
+            if (line.isOversized()) {
+                parseErrors.add("Line exceeds the maximum size of " + maxLineBytes + " bytes");
+                return;
+            }
+            try (JsonParser parser = objectMapper.getFactory().createParser(line.bytes(), 0, line.length())) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parseErrors.add("Line is not a JSON object");
+                    return;
+                }
+                Map<String, Object> form = formReader.readValue(parser);
+                if (parser.nextToken() != null) {
+                    parseErrors.add("Unexpected content after JSON object");
+                    return;
+                }
+                forms.add(form);
+                parseErrors.add(null);
+            } catch (JsonProcessingException e) {
+                parseErrors.add("Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        int size() {
+            return lineNumbers.size();
+        }
+    }
+
+    /**
+     * Splits a byte stream into '\n' terminated lines (a trailing '\r' is dropped) without decoding
+     * it. The bytes of a line are kept up to maxLineBytes; the rest of a longer line is read and
+     * discarded, and the line is flagged as oversized. UTF-8 never uses the byte of '\n' inside a
+     * multi-byte character, so splitting on raw bytes is safe.
+     */
+    private static final class LineReader {
+
+        private final InputStream in;
+        private final int maxLineBytes;
+        private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+        private int readPosition;
+        private int readLimit;
+        private byte[] line = new byte[256];
+        private int length;
+        private boolean oversized;
+        private long lineNumber;
+
+        LineReader(InputStream in, int maxLineBytes) {
+            this.in = in;
+            this.maxLineBytes = maxLineBytes;
+        }
+
+        /**
+         * Reads the next line; returns false at the end of the input.
+         */
+        boolean next() throws IOException {
+            length = 0;
+            oversized = false;
+            boolean readAny = false;
+            while (true) {
+                if (readPosition == readLimit) {
+                    readLimit = in.read(readBuffer);
+                    readPosition = 0;
+                    if (readLimit <= 0) {
+                        readLimit = 0;
+                        if (!readAny) {
+                            return false;
+                        }
+                        break;
+                    }
+                }
+                readAny = true;
+                int start = readPosition;
+                int end = start;
+                while (end < readLimit && readBuffer[end] != '\n') {
+                    end++;
+                }
+                append(start, end - start);
+                readPosition = end;
+                if (end < readLimit) {
+                    readPosition++;
+                    break;
+                }
+            }
+            lineNumber++;
+            if (!oversized && length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            return true;
+        }
+
+        private void append(int offset, int count) {
+            if (oversized || count == 0) {
+                return;
+            }
+            if (length + count > maxLineBytes) {
+                oversized = true;
+                length = 0;
+                return;
+            }
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.min(maxLineBytes, Math.max(length + count, line.length * 2)));
+            }
+            System.arraycopy(readBuffer, offset, line, length, count);
+            length += count;
+        }
+
+        long lineNumber() {
+            return lineNumber;
+        }
+
+        byte[] bytes() {
+            return line;
+        }
+
+        int length() {
+            return length;
+        }
+
+        boolean isOversized() {
+            return oversized;
+        }
+
+        boolean isBlank() {
+            if (oversized) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                byte b = line[i];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
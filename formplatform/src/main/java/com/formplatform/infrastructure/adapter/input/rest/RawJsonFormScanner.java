@@ -0,0 +1,49 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.formplatform.application.exception.InvalidFormException;
+import com.formplatform.domain.model.RawFormData;
+
+import java.io.IOException;
+
+/**
+ * Single streaming pass over a raw form submission.
+ *
+ * Checks that the body is one well-formed JSON object and counts its top-level fields, without
+ * building a Map; the emptiness rule itself stays in SubmitFormUseCase. Nested values are skipped
+ * token by token, so they are still syntax-checked.
+ */
+final class RawJsonFormScanner {
+
+    private RawJsonFormScanner() {
+    }
+
+    static RawFormData scan(JsonFactory jsonFactory, byte[] body) throws IOException {
+        if (body == null || body.length == 0) {
+            return new RawFormData(body, 0);
+        }
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return new RawFormData(body, 0);
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new InvalidFormException("Form data must be a JSON object");
+            }
+
+            int fields = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                fields++;
+                parser.nextToken();
+                parser.skipChildren();
+            }
+
+            if (parser.nextToken() != null) {
+                throw new InvalidFormException("Unexpected content after JSON object");
+            }
+            return new RawFormData(body, fields);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+/**
+ * Batch size of one outbox channel, adapted after every batch within [min, max]:
+ * - a batch that took longer than the target latency halves the size, so a slow broker gets
+ *   smaller claims and each batch stays well inside the claim lease
+ * - a full, fully published batch that took less than half the target doubles it, so a deep
+ *   backlog is drained with fewer, larger round trips
+ * Anything else (partial batch, failures) keeps the size. Shared by the workers of the channel.
+ */
+final class AdaptiveBatchSize {
+
+    private final int min;
+    private final int max;
+    private final long targetNanos;
+    private int current;
+
+    AdaptiveBatchSize(int min, int max, long targetNanos) {
+        this.min = min;
+        this.max = max;
+        this.targetNanos = targetNanos;
+        this.current = min;
+    }
+
+    synchronized int current() {
+        return current;
+    }
+
+    /**
+     * @param batchSize   size the batch was claimed with
+     * @param claimed     events claimed
+     * @param published   events published successfully
+     * @param elapsedNanos time spent publishing the batch
+     * @return the size for the next batch
+     */
+    synchronized int record(int batchSize, int claimed, int published, long elapsedNanos) {
+        if (elapsedNanos > targetNanos) {
+            current = Math.max(min, batchSize / 2);
+        } else if (claimed == batchSize && published == claimed && elapsedNanos * 2 <= targetNanos) {
+            current = Math.min(max, Math.max(current, batchSize * 2));
+        }
+        return current;
+    }
+}
@@ -0,0 +1,27 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An outbox channel the relay can deliver to. Every CDI bean implementing it is picked up by
+ * OutboxChannelRegistry and gets its own drain workers; outbox events stored under a channel
+ * without a bean stay PENDING.
+ *
+ * Adding a channel: a bean with an Emitter for it, the mp.messaging.outgoing configuration and,
+ * optionally, formplatform.outbox.channels."name".* settings.
+ */
+public interface OutboxChannel {
+
+    String FORM_CREATED = "form-created";
+
+    /**
+     * Outbox channel name, as stored in outbox_events.channel.
+     */
+    String name();
+
+    /**
+     * Sends a payload. The returned stage completes once the broker has confirmed the message,
+     * or fails if it was rejected.
+     */
+    CompletionStage<Void> send(String payload);
+}
@@ -0,0 +1,84 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Maps outbox channel names to the OutboxChannel beans that deliver them, with the drain settings
+ * of each channel:
+ * - formplatform.outbox.channels."name".concurrency: drain workers of the channel (default 1)
+ * - formplatform.outbox.channels."name".rate-limit: events per second, 0 for no limit (default 0)
+ * Every channel also gets its own OutboxCircuitBreaker, configured by
+ * formplatform.outbox.circuit-breaker.*.
+ */
+@ApplicationScoped
+public class OutboxChannelRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxChannelRegistry.class);
+    private static final String PREFIX = "formplatform.outbox.channels.";
+
+    private final Map<String, RegisteredChannel> channels;
+
+    public OutboxChannelRegistry(
+            @Any Instance<OutboxChannel> outboxChannels,
+            Config config,
+            @ConfigProperty(name = "formplatform.outbox.circuit-breaker.failure-threshold", defaultValue = "5") int failureThreshold,
+            @ConfigProperty(name = "formplatform.outbox.circuit-breaker.initial-backoff", defaultValue = "1s") Duration initialBackoff,
+            @ConfigProperty(name = "formplatform.outbox.circuit-breaker.max-backoff", defaultValue = "60s") Duration maxBackoff) {
+        Map<String, RegisteredChannel> registered = new LinkedHashMap<>();
+        for (OutboxChannel channel : outboxChannels) {
+            int concurrency = config.getOptionalValue(PREFIX + channel.name() + ".concurrency", Integer.class).orElse(1);
+            int rateLimit = config.getOptionalValue(PREFIX + channel.name() + ".rate-limit", Integer.class).orElse(0);
+            if (concurrency < 1 || rateLimit < 0) {
+                throw new IllegalArgumentException("Invalid outbox settings for channel " + channel.name()
+                        + ": concurrency must be >= 1 and rate-limit >= 0");
+            }
+            OutboxRateLimiter rateLimiter = rateLimit == 0 ? OutboxRateLimiter.UNLIMITED : new OutboxRateLimiter(rateLimit);
+            OutboxCircuitBreaker circuitBreaker =
+                    new OutboxCircuitBreaker(channel.name(), failureThreshold, initialBackoff, maxBackoff);
+            RegisteredChannel registeredChannel =
+                    new RegisteredChannel(channel, concurrency, rateLimit, rateLimiter, circuitBreaker);
+            if (registered.putIfAbsent(channel.name(), registeredChannel) != null) {
+                throw new IllegalStateException("Outbox channel " + channel.name() + " is registered twice");
+            }
+            log.info("Outbox channel {}: concurrency={}, rate-limit={}/s", channel.name(), concurrency,
+                    rateLimit == 0 ? "unlimited" : rateLimit);
+        }
+        this.channels = Collections.unmodifiableMap(registered);
+    }
+
+    public Collection<RegisteredChannel> channels() {
+        return channels.values();
+    }
+
+    public RegisteredChannel channel(String name) {
+        return channels.get(name);
+    }
+
+    public record RegisteredChannel(
+            OutboxChannel channel,
+            int concurrency,
+            int rateLimit,
+            OutboxRateLimiter rateLimiter,
+            OutboxCircuitBreaker circuitBreaker) {
+
+        public String name() {
+            return channel.name();
+        }
+
+        public boolean isRateLimited() {
+            return rateLimit > 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker for publishing on one outbox channel, shared by all drain workers of the channel.
+ *
+ * - closed: batches are published normally; failureThreshold consecutive failed publishes open it
+ * - open: nothing is claimed or published until the backoff has elapsed
+ * - half open: a single event is published as a probe; success closes the circuit, failure opens
+ *   it again with twice the backoff (up to maxBackoff)
+ *
+ * Failures while the broker is unreachable are not the events' fault, so OutboxProcessor releases
+ * the events of a batch that opened the circuit without charging them a retry.
+ */
+public final class OutboxCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxCircuitBreaker.class);
+
+    enum Permit {
+        /** Circuit closed: publish a regular batch. */
+        BATCH,
+        /** Probe time: publish a single event. */
+        PROBE,
+        /** Circuit open: publish nothing. */
+        REJECTED
+    }
+
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String channel;
+    private final int failureThreshold;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long backoffNanos;
+    private long nextProbeNanos;
+
+    OutboxCircuitBreaker(String channel, int failureThreshold, Duration initialBackoff, Duration maxBackoff) {
+        this.channel = channel;
+        this.failureThreshold = failureThreshold;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.backoffNanos = initialBackoffNanos;
+    }
+
+    synchronized Permit acquire() {
+        if (state == State.CLOSED) {
+            return Permit.BATCH;
+        }
+        if (state == State.OPEN && System.nanoTime() - nextProbeNanos >= 0) {
+            state = State.HALF_OPEN;
+            return Permit.PROBE;
+        }
+        return Permit.REJECTED;
+    }
+
+    synchronized boolean isClosed() {
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Nanoseconds until the next probe may run, or -1 if the circuit is not waiting for one.
+     */
+    synchronized long nanosUntilProbe() {
+        if (state != State.OPEN) {
+            return -1;
+        }
+        return Math.max(0, nextProbeNanos - System.nanoTime());
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            backoffNanos = initialBackoffNanos;
+            log.info("Outbox channel {}: probe published, circuit closed", channel);
+        }
+    }
+
+    synchronized void onFailure(Exception e) {
+        if (state == State.HALF_OPEN) {
+            backoffNanos = Math.min(maxBackoffNanos, backoffNanos * 2);
+            open("probe failed", e);
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            backoffNanos = initialBackoffNanos;
+            open(consecutiveFailures + " consecutive publish failures", e);
+        }
+    }
+
+    /**
+     * The probe ended without a publish result (no event to claim, or claiming or writing back
+     * failed): wait for the next probe with the same backoff. A no-op once the probe's publish has
+     * already closed or reopened the circuit.
+     */
+    synchronized void probeSkipped() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            nextProbeNanos = System.nanoTime() + backoffNanos;
+        }
+    }
+
+    private void open(String reason, Exception e) {
+        state = State.OPEN;
+        consecutiveFailures = 0;
+        nextProbeNanos = System.nanoTime() + backoffNanos;
+        log.warn("Outbox channel {}: circuit opened after {} ({}), next probe in {} ms",
+                channel, reason, e.getMessage(), Duration.ofNanos(backoffNanos).toMillis());
+    }
+}
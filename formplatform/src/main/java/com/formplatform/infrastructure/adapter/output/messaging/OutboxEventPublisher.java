@@ -3,29 +3,64 @@ package com.formplatform.infrastructure.adapter.output.messaging;
 import com.formplatform.domain.port.output.EventPublisher;
 import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * EventPublisher that persists events in the outbox (same transaction as form save).
- * Events are later sent to RabbitMQ by OutboxProcessor when the queue is available.
+ * Events are later sent to RabbitMQ by OutboxProcessor when the queue is available; the
+ * OutboxEventsStored event lets OutboxRelay start that as soon as the transaction commits.
+ *
+ * With formplatform.outbox.compact-rows.enabled=true an event row only holds its channel and the
+ * form id, and OutboxProcessor renders the payload when publishing. Disable it while instances that
+ * predate compact rows still drain the same outbox, since they can only publish stored payloads.
  */
 @ApplicationScoped
 @Named("outbox")
 public class OutboxEventPublisher implements EventPublisher {
 
-    private static final String CHANNEL_FORM_CREATED = "form-created";
-
     private final OutboxRepository outboxRepository;
+    private final OutboxPayloadEncoder payloadEncoder;
+    private final Event<OutboxEventsStored> outboxEventsStored;
+    private final boolean compactRows;
 
-    public OutboxEventPublisher(OutboxRepository outboxRepository) {
+    public OutboxEventPublisher(
+            OutboxRepository outboxRepository,
+            OutboxPayloadEncoder payloadEncoder,
+            Event<OutboxEventsStored> outboxEventsStored,
+            @ConfigProperty(name = "formplatform.outbox.compact-rows.enabled", defaultValue = "true") boolean compactRows) {
         this.outboxRepository = outboxRepository;
+        this.payloadEncoder = payloadEncoder;
+        this.outboxEventsStored = outboxEventsStored;
+        this.compactRows = compactRows;
     }
 
     @Override
     public void publishFormCreated(UUID formId) {
-        String payload = String.format("{\"formId\": \"%s\", \"event\": \"FORM_CREATED\"}", formId.toString());
-        outboxRepository.save(CHANNEL_FORM_CREATED, payload);
+        if (compactRows) {
+            outboxRepository.saveFormEvent(OutboxChannel.FORM_CREATED, formId);
+        } else {
+            outboxRepository.save(OutboxChannel.FORM_CREATED, payloadEncoder.encode(OutboxChannel.FORM_CREATED, formId));
+        }
+        outboxEventsStored.fire(new OutboxEventsStored(OutboxChannel.FORM_CREATED, 1));
+    }
+
+    @Override
+    public void publishFormsCreated(List<UUID> formIds) {
+        if (compactRows) {
+            outboxRepository.saveFormEvents(OutboxChannel.FORM_CREATED, formIds);
+        } else {
+            List<String> payloads = new ArrayList<>(formIds.size());
+            for (UUID formId : formIds) {
+                payloads.add(payloadEncoder.encode(OutboxChannel.FORM_CREATED, formId));
+            }
+            outboxRepository.saveAll(OutboxChannel.FORM_CREATED, payloads);
+        }
+        outboxEventsStored.fire(new OutboxEventsStored(OutboxChannel.FORM_CREATED, formIds.size()));
     }
 }
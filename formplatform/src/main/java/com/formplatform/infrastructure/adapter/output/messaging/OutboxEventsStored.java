@@ -0,0 +1,7 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+/**
+ * CDI event fired by OutboxEventPublisher after writing events to the outbox. Observed after the
+ * surrounding transaction commits, so the relay only looks for events that are visible.
+ */
+public record OutboxEventsStored(String channel, int count) {}
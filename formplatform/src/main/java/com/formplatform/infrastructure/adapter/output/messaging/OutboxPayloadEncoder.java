@@ -0,0 +1,36 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the wire payload of a form event:
+ *   {"formId": "<uuid>", "event": "<CHANNEL_NAME>"}
+ * where the event name is the channel in upper snake case (form-created -> FORM_CREATED). The
+ * constant tail of each channel is built once, so rendering is a single exactly-sized append.
+ */
+@ApplicationScoped
+public class OutboxPayloadEncoder {
+
+    private static final String PREFIX = "{\"formId\": \"";
+    private static final int UUID_LENGTH = 36;
+
+    private final Map<String, String> suffixes = new ConcurrentHashMap<>();
+
+    public String encode(String channel, UUID formId) {
+        String suffix = suffixes.computeIfAbsent(channel, OutboxPayloadEncoder::suffix);
+        return new StringBuilder(PREFIX.length() + UUID_LENGTH + suffix.length())
+                .append(PREFIX)
+                .append(formId)
+                .append(suffix)
+                .toString();
+    }
+
+    private static String suffix(String channel) {
+        return "\", \"event\": \"" + channel.toUpperCase(Locale.ROOT).replace('-', '_') + "\"}";
+    }
+}
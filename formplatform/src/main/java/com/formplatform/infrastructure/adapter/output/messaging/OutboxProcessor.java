@@ -1,52 +1,318 @@
 package com.formplatform.infrastructure.adapter.output.messaging;
 
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxChannelRegistry.RegisteredChannel;
 import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository;
-import io.quarkus.scheduler.Scheduled;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.ActivateRequestContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * Scheduled job that reads pending outbox events and publishes them to RabbitMQ.
- * When the queue is unavailable, events remain in PENDING and are retried on the next run.
+ * Claims pending outbox events of one channel and publishes them through the channel's
+ * OutboxChannel. Drains are triggered by OutboxRelay, per channel. When the queue is unavailable,
+ * events remain in PENDING and are retried once their backoff has passed (see OutboxRetryScheduler).
+ * Claiming lets several workers and formplatform instances drain the outbox at the same time.
+ *
+ * The batch size of each channel adapts to the backlog and to how long batches take to publish
+ * (see AdaptiveBatchSize), between formplatform.outbox.batch.min-size and max-size. In publish
+ * confirms mode it is also capped by the confirm window, and a rate-limited channel claims at most
+ * one second's worth of events per batch.
+ *
+ * Delivery modes:
+ * - publish confirms (formplatform.outbox.publish-confirms.enabled=true): a window of events is
+ *   published without waiting in between, the broker confirms are awaited together, and only the
+ *   confirmed events are marked SENT, in one bulk update. Events without a confirm within the
+ *   timeout are retried later, so SENT always means the broker has the message.
+ * - fire and forget: each event is handed to the emitter and counts as SENT right away.
+ *
+ * Either way the outcome of a batch is written with set-based updates (one per kind of outcome)
+ * in a single transaction. Each channel's OutboxCircuitBreaker sees every publish result; once it
+ * opens, the channel stops claiming and failed events stop being charged retries.
  */
 @ApplicationScoped
 public class OutboxProcessor {
 
     private static final Logger log = LoggerFactory.getLogger(OutboxProcessor.class);
-    private static final int BATCH_SIZE = 50;
     private static final int MAX_RETRIES = 10;
 
     private final OutboxRepository outboxRepository;
-    private final RabbitMQEventPublisher rabbitMQEventPublisher;
+    private final OutboxPayloadEncoder payloadEncoder;
+    private final OutboxRetryScheduler retryScheduler;
+    private final boolean publishConfirms;
+    private final int confirmWindow;
+    private final Duration confirmTimeout;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final Duration targetBatchLatency;
+    private final Map<String, AdaptiveBatchSize> batchSizes = new ConcurrentHashMap<>();
 
-    public OutboxProcessor(OutboxRepository outboxRepository, RabbitMQEventPublisher rabbitMQEventPublisher) {
+    public OutboxProcessor(
+            OutboxRepository outboxRepository,
+            OutboxPayloadEncoder payloadEncoder,
+            OutboxRetryScheduler retryScheduler,
+            @ConfigProperty(name = "formplatform.outbox.publish-confirms.enabled", defaultValue = "true") boolean publishConfirms,
+            @ConfigProperty(name = "formplatform.outbox.publish-confirms.window", defaultValue = "128") int confirmWindow,
+            @ConfigProperty(name = "formplatform.outbox.publish-confirms.timeout", defaultValue = "10s") Duration confirmTimeout,
+            @ConfigProperty(name = "formplatform.outbox.batch.min-size", defaultValue = "16") int minBatchSize,
+            @ConfigProperty(name = "formplatform.outbox.batch.max-size", defaultValue = "1024") int maxBatchSize,
+            @ConfigProperty(name = "formplatform.outbox.batch.target-latency", defaultValue = "2s") Duration targetBatchLatency) {
+        if (minBatchSize < 1 || maxBatchSize < minBatchSize) {
+            throw new IllegalArgumentException("Outbox batch sizes must satisfy 1 <= min-size <= max-size");
+        }
         this.outboxRepository = outboxRepository;
-        this.rabbitMQEventPublisher = rabbitMQEventPublisher;
+        this.payloadEncoder = payloadEncoder;
+        this.retryScheduler = retryScheduler;
+        this.publishConfirms = publishConfirms;
+        this.confirmWindow = confirmWindow;
+        this.confirmTimeout = confirmTimeout;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetBatchLatency = targetBatchLatency;
+    }
+
+    /**
+     * Publishes one batch of the channel. Returns true if the claim came back full and the broker
+     * accepted at least part of it, i.e. more events are likely waiting and worth another batch right
+     * away. A batch where every publish failed returns false so an unavailable broker is not retried
+     * in a tight loop. While the channel's circuit is open nothing is claimed; when a probe is due a
+     * single event is published and, if it gets through, draining resumes at the full batch size.
+     */
+    @ActivateRequestContext
+    public boolean processOutbox(RegisteredChannel channel) {
+        OutboxCircuitBreaker.Permit permit = channel.circuitBreaker().acquire();
+        if (permit == OutboxCircuitBreaker.Permit.REJECTED) {
+            return false;
+        }
+        if (permit == OutboxCircuitBreaker.Permit.PROBE) {
+            return probe(channel);
+        }
+        return drainBatch(channel, permit);
+    }
+
+    /**
+     * The probe holds the half-open circuit: if it ends without a publish result (nothing to claim,
+     * or claiming or writing back failed) the circuit goes back to waiting for the next probe, so a
+     * database error can never leave the channel half open with no probe scheduled.
+     */
+    private boolean probe(RegisteredChannel channel) {
+        try {
+            return drainBatch(channel, OutboxCircuitBreaker.Permit.PROBE);
+        } catch (RuntimeException e) {
+            channel.circuitBreaker().probeSkipped();
+            throw e;
+        }
     }
 
-    @Scheduled(every = "5s")
-    void processOutbox() {
-        List<OutboxRepository.PendingOutboxEvent> pending = outboxRepository.findPending(BATCH_SIZE);
+    private boolean drainBatch(RegisteredChannel channel, OutboxCircuitBreaker.Permit permit) {
+        AdaptiveBatchSize adaptiveBatchSize = batchSizes.computeIfAbsent(channel.name(), name -> newBatchSize(channel));
+        int batchSize = permit == OutboxCircuitBreaker.Permit.PROBE ? 1 : adaptiveBatchSize.current();
+        List<OutboxRepository.PendingOutboxEvent> pending = outboxRepository.claimPending(channel.name(), batchSize);
         if (pending.isEmpty()) {
-            return;
+            if (permit == OutboxCircuitBreaker.Permit.PROBE) {
+                channel.circuitBreaker().probeSkipped();
+            }
+            return false;
+        }
+        long startNanos = System.nanoTime();
+        BatchOutcome outcome = publishConfirms ? publishConfirmed(channel, pending) : publishOneByOne(channel, pending);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        outcome.commit(channel);
+
+        if (permit == OutboxCircuitBreaker.Permit.BATCH) {
+            int nextBatchSize = adaptiveBatchSize.record(batchSize, pending.size(), outcome.sent.size(), elapsedNanos);
+            if (nextBatchSize != batchSize) {
+                log.debug("Outbox channel {}: batch size {} -> {} (last batch {} events in {} ms)", channel.name(),
+                        batchSize, nextBatchSize, pending.size(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            }
+        }
+        return pending.size() == batchSize && !outcome.sent.isEmpty();
+    }
+
+    private AdaptiveBatchSize newBatchSize(RegisteredChannel channel) {
+        int max = publishConfirms ? Math.min(maxBatchSize, confirmWindow) : maxBatchSize;
+        if (channel.isRateLimited()) {
+            max = Math.min(max, channel.rateLimit());
         }
+        return new AdaptiveBatchSize(Math.min(minBatchSize, max), max, targetBatchLatency.toNanos());
+    }
+
+    /**
+     * Stops at the first failure that opens the circuit; the rest of the batch is released.
+     */
+    private BatchOutcome publishOneByOne(RegisteredChannel channel, List<OutboxRepository.PendingOutboxEvent> pending) {
+        BatchOutcome outcome = new BatchOutcome(pending);
         for (OutboxRepository.PendingOutboxEvent event : pending) {
             try {
-                if ("form-created".equals(event.channel())) {
-                    rabbitMQEventPublisher.sendMessage(event.payload());
-                    outboxRepository.markSent(event.id());
+                channel.rateLimiter().acquire();
+                channel.channel().send(payloadOf(event));
+                outcome.sent(event);
+                channel.circuitBreaker().onSuccess();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                outcome.failed(event, e);
+                channel.circuitBreaker().onFailure(e);
+                if (!channel.circuitBreaker().isClosed()) {
+                    break;
                 }
+            }
+        }
+        return outcome;
+    }
+
+    private BatchOutcome publishConfirmed(RegisteredChannel channel, List<OutboxRepository.PendingOutboxEvent> pending) {
+        List<OutboxRepository.PendingOutboxEvent> inFlight = new ArrayList<>(pending.size());
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(pending.size());
+        for (OutboxRepository.PendingOutboxEvent event : pending) {
+            CompletableFuture<Void> confirm;
+            try {
+                channel.rateLimiter().acquire();
+                confirm = channel.channel().send(payloadOf(event)).toCompletableFuture();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
             } catch (Exception e) {
-                log.warn("Failed to publish outbox event id={}, retries will continue: {}", event.id(), e.getMessage());
-                outboxRepository.incrementRetry(event.id());
+                confirm = CompletableFuture.failedFuture(e);
+            }
+            inFlight.add(event);
+            confirms.add(confirm);
+        }
+
+        awaitConfirms(confirms);
+
+        BatchOutcome outcome = new BatchOutcome(pending);
+        for (int i = 0; i < inFlight.size(); i++) {
+            CompletableFuture<Void> confirm = confirms.get(i);
+            if (confirm.isDone() && !confirm.isCompletedExceptionally()) {
+                outcome.sent(inFlight.get(i));
+                channel.circuitBreaker().onSuccess();
+            } else {
+                Exception failure = failureOf(confirm);
+                outcome.failed(inFlight.get(i), failure);
+                channel.circuitBreaker().onFailure(failure);
+            }
+        }
+        return outcome;
+    }
+
+    /**
+     * Compact rows carry only the form id; their payload is rendered here, just before sending.
+     */
+    private String payloadOf(OutboxRepository.PendingOutboxEvent event) {
+        if (event.payload() != null) {
+            return event.payload();
+        }
+        return payloadEncoder.encode(event.channel(), event.formId());
+    }
+
+    private void awaitConfirms(List<CompletableFuture<Void>> confirms) {
+        try {
+            CompletableFuture.allOf(confirms.toArray(CompletableFuture[]::new))
+                    .get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Outcome is read per event: confirmed ones are still marked SENT
+        }
+    }
+
+    private Exception failureOf(CompletableFuture<Void> confirm) {
+        if (!confirm.isDone()) {
+            return new TimeoutException("No publish confirm within " + confirmTimeout);
+        }
+        try {
+            confirm.join();
+            return new IllegalStateException("Publish was not confirmed");
+        } catch (Exception e) {
+            return e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /**
+     * Outcome of the events of one batch, written back in one transaction:
+     * - sent events are marked SENT
+     * - failed events are charged a retry and handed to the retry scheduler, unless the circuit of
+     *   the channel is open by now: then the broker is the problem and they are released for a
+     *   later drain without a charge
+     * - events that were never sent (circuit opened or worker interrupted) are released
+     */
+    private final class BatchOutcome {
+
+        private final List<OutboxRepository.PendingOutboxEvent> claimed;
+        private final String claimToken;
+        private final List<Long> sent;
+        private final List<OutboxRepository.PendingOutboxEvent> failed = new ArrayList<>();
+        private final List<String> failures = new ArrayList<>();
+
+        private BatchOutcome(List<OutboxRepository.PendingOutboxEvent> claimed) {
+            this.claimed = claimed;
+            // One claim per batch: a write-back only touches the events this drain still holds
+            this.claimToken = claimed.get(0).claimToken();
+            this.sent = new ArrayList<>(claimed.size());
+        }
+
+        private void sent(OutboxRepository.PendingOutboxEvent event) {
+            sent.add(event.id());
+        }
+
+        private void failed(OutboxRepository.PendingOutboxEvent event, Exception e) {
+            failed.add(event);
+            failures.add(e.getMessage());
+        }
+
+        private void commit(RegisteredChannel channel) {
+            boolean chargeFailures = channel.circuitBreaker().isClosed();
+            List<Long> retried = new ArrayList<>(failed.size());
+            List<Long> released = new ArrayList<>();
+            Set<Long> handled = new HashSet<>(sent);
+            for (int i = 0; i < failed.size(); i++) {
+                OutboxRepository.PendingOutboxEvent event = failed.get(i);
+                handled.add(event.id());
+                if (!chargeFailures) {
+                    released.add(event.id());
+                    continue;
+                }
+                log.warn("Failed to publish outbox event id={}, retries will continue: {}", event.id(), failures.get(i));
+                retried.add(event.id());
                 if (event.retryCount() + 1 >= MAX_RETRIES) {
-                    outboxRepository.markFailed(event.id());
                     log.error("Outbox event id={} marked as FAILED after {} retries", event.id(), MAX_RETRIES);
                 }
             }
+            for (OutboxRepository.PendingOutboxEvent event : claimed) {
+                if (!handled.contains(event.id())) {
+                    released.add(event.id());
+                }
+            }
+            if (!released.isEmpty()) {
+                log.debug("Outbox channel {}: released {} events without charging a retry", channel.name(), released.size());
+            }
+
+            List<OutboxRepository.DelayedOutboxEvent> delayed = QuarkusTransaction.requiringNew().call(() -> {
+                if (!sent.isEmpty()) {
+                    outboxRepository.markSentAll(sent, claimToken);
+                }
+                if (!released.isEmpty()) {
+                    outboxRepository.releaseClaims(released, claimToken);
+                }
+                return retried.isEmpty() ? List.<OutboxRepository.DelayedOutboxEvent>of()
+                        : outboxRepository.scheduleRetryAll(retried, claimToken, MAX_RETRIES);
+            });
+            retryScheduler.schedule(delayed);
         }
     }
 }
@@ -0,0 +1,41 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the events published on one channel to a fixed rate. One instance is shared by all drain
+ * workers of the channel, so the limit holds for the channel as a whole.
+ */
+public final class OutboxRateLimiter {
+
+    static final OutboxRateLimiter UNLIMITED = new OutboxRateLimiter(0);
+
+    private final long nanosPerPermit;
+    private long nextFreeNanos = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond events per second, 0 for no limit
+     */
+    OutboxRateLimiter(int permitsPerSecond) {
+        this.nanosPerPermit = permitsPerSecond == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / permitsPerSecond;
+    }
+
+    /**
+     * Blocks until the next event may be published.
+     */
+    void acquire() throws InterruptedException {
+        if (nanosPerPermit == 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(nextFreeNanos, now);
+            nextFreeNanos = start + nanosPerPermit;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxChannelRegistry.RegisteredChannel;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides when the outbox is drained.
+ *
+ * With formplatform.outbox.relay.enabled=true every commit that stored outbox events wakes the
+ * relay of their channel, so events are published right after the form is saved instead of on the
+ * next poll. Retries are woken the same way by OutboxRetryScheduler when they become due. The
+ * scheduled poll (formplatform.outbox.poll-interval) remains as a safety net for events left over
+ * by a crash or a missed wake-up, and wakes every channel.
+ *
+ * Each channel of OutboxChannelRegistry has its own drain workers (its concurrency setting), so a
+ * slow or unavailable broker destination only holds up its own channel. Wake-ups that arrive while
+ * a drain of the channel is queued are coalesced, so a burst of commits costs a few drains rather
+ * than one per commit. A drain publishes batches back to back for as long as claims come back full,
+ * and only goes idle (until the next wake-up or poll) once the channel's backlog is drained or the
+ * broker rejects a whole batch; while batches come back full it recruits another worker, up to the
+ * channel's concurrency.
+ * Workers never publish the same event because every batch is claimed first.
+ *
+ * While a channel's circuit breaker is open, wake-ups find nothing to do; the relay schedules one
+ * wake-up of its own for when the next probe is due.
+ */
+@ApplicationScoped
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxProcessor outboxProcessor;
+    private final boolean commitTriggered;
+    private final Map<String, ChannelDrain> drains = new LinkedHashMap<>();
+    private final ScheduledExecutorService probeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-relay-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean stopping;
+
+    public OutboxRelay(
+            OutboxProcessor outboxProcessor,
+            OutboxChannelRegistry channelRegistry,
+            @ConfigProperty(name = "formplatform.outbox.relay.enabled", defaultValue = "true") boolean commitTriggered) {
+        this.outboxProcessor = outboxProcessor;
+        this.commitTriggered = commitTriggered;
+        for (RegisteredChannel channel : channelRegistry.channels()) {
+            drains.put(channel.name(), new ChannelDrain(channel));
+        }
+    }
+
+    void onEventsStored(@Observes(during = TransactionPhase.AFTER_SUCCESS) OutboxEventsStored event) {
+        if (!commitTriggered) {
+            return;
+        }
+        ChannelDrain drain = drains.get(event.channel());
+        if (drain != null) {
+            drain.request();
+        }
+    }
+
+    void onRetriesDue(@Observes OutboxRetriesDue event) {
+        ChannelDrain drain = drains.get(event.channel());
+        if (drain != null) {
+            drain.request();
+        }
+    }
+
+    @Scheduled(every = "${formplatform.outbox.poll-interval:5s}", skipExecutionIf = Scheduled.ApplicationNotRunning.class)
+    void poll() {
+        drains.values().forEach(ChannelDrain::request);
+    }
+
+    /**
+     * Lets the current batches finish before the datasource is closed; whatever is left stays
+     * PENDING for the next start.
+     */
+    void onStop(@Observes ShutdownEvent event) {
+        stopping = true;
+        probeScheduler.shutdownNow();
+        drains.values().forEach(drain -> drain.executor.shutdown());
+        try {
+            for (ChannelDrain drain : drains.values()) {
+                drain.executor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class ChannelDrain {
+
+        private final RegisteredChannel channel;
+        private final ExecutorService executor;
+        private final AtomicBoolean drainQueued = new AtomicBoolean();
+        private final AtomicBoolean probeScheduled = new AtomicBoolean();
+
+        private ChannelDrain(RegisteredChannel channel) {
+            this.channel = channel;
+            AtomicInteger workers = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(channel.concurrency(), runnable -> {
+                Thread thread = new Thread(runnable, "outbox-relay-" + channel.name() + "-" + workers.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void request() {
+            if (stopping || !drainQueued.compareAndSet(false, true)) {
+                return;
+            }
+            executor.execute(this::drain);
+        }
+
+        private void drain() {
+            // Cleared before draining so events committed during this drain queue another one
+            drainQueued.set(false);
+            try {
+                while (!stopping && outboxProcessor.processOutbox(channel)) {
+                    // More events may be waiting: let an idle worker help with them
+                    if (channel.concurrency() > 1) {
+                        request();
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Outbox drain of channel {} failed, the next poll will retry: {}", channel.name(), e.getMessage(), e);
+            }
+            scheduleProbe();
+        }
+
+        private void scheduleProbe() {
+            long delayNanos = channel.circuitBreaker().nanosUntilProbe();
+            if (delayNanos < 0 || stopping || !probeScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            probeScheduler.schedule(() -> {
+                probeScheduled.set(false);
+                request();
+            }, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
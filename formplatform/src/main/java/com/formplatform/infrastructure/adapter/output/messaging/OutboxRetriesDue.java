@@ -0,0 +1,7 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+/**
+ * CDI event fired by OutboxRetryScheduler once delayed events of a channel were made ready again,
+ * so the relay drains them without waiting for the next poll.
+ */
+public record OutboxRetriesDue(String channel, int count) {}
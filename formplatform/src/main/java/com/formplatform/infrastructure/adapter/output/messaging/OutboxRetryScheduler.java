@@ -0,0 +1,168 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxChannelRegistry.RegisteredChannel;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository.DelayedOutboxEvent;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes delayed outbox events ready again when their retry is due.
+ *
+ * A failed publish leaves its event delayed (next_retry_at set), out of reach of the claim query.
+ * The deadlines of these retries are kept in a RetryTimerWheel, loaded from the table on startup
+ * and fed by OutboxProcessor after every batch; when a deadline passes, the event is promoted to
+ * ready and its channel's relay is woken with an OutboxRetriesDue event, so the retry runs on time
+ * and the table is never searched for due retries on the hot path.
+ *
+ * The wheel holds at most formplatform.outbox.retry-wheel.capacity deadlines. Retries beyond that,
+ * retries scheduled by another instance that has since died, and promotions that failed are picked
+ * up by a sweep of the due rows every formplatform.outbox.retry-sweep.interval.
+ */
+@ApplicationScoped
+public class OutboxRetryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRetryScheduler.class);
+    private static final int WHEEL_SIZE = 512;
+    private static final int PROMOTE_CHUNK = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxChannelRegistry channelRegistry;
+    private final Event<OutboxRetriesDue> retriesDue;
+    private final long tickNanos;
+    private final int capacity;
+    private final RetryTimerWheel wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-retry-wheel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private boolean overflowing;
+
+    public OutboxRetryScheduler(
+            OutboxRepository outboxRepository,
+            OutboxChannelRegistry channelRegistry,
+            Event<OutboxRetriesDue> retriesDue,
+            @ConfigProperty(name = "formplatform.outbox.retry-wheel.tick", defaultValue = "100ms") Duration tick,
+            @ConfigProperty(name = "formplatform.outbox.retry-wheel.capacity", defaultValue = "100000") int capacity) {
+        this.outboxRepository = outboxRepository;
+        this.channelRegistry = channelRegistry;
+        this.retriesDue = retriesDue;
+        this.tickNanos = tick.toNanos();
+        this.capacity = capacity;
+        this.wheel = new RetryTimerWheel(tickNanos, WHEEL_SIZE, System.nanoTime());
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        int loaded = 0;
+        for (RegisteredChannel channel : channelRegistry.channels()) {
+            List<DelayedOutboxEvent> delayed = outboxRepository.findDelayed(channel.name(), capacity - loaded);
+            schedule(delayed);
+            loaded += delayed.size();
+        }
+        if (loaded > 0) {
+            log.info("Loaded {} pending outbox retries into the retry wheel", loaded);
+        }
+        ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * Tracks retries scheduled by OutboxRepository.scheduleRetryAll; call after its transaction
+     * has committed.
+     */
+    public void schedule(List<DelayedOutboxEvent> delayed) {
+        if (delayed.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        int dropped = 0;
+        synchronized (wheel) {
+            for (DelayedOutboxEvent event : delayed) {
+                if (wheel.size() >= capacity) {
+                    dropped++;
+                    continue;
+                }
+                wheel.add(event.id(), event.channel(), TimeUnit.MILLISECONDS.toNanos(event.delayMillis()), now);
+            }
+            if (dropped > 0 && !overflowing) {
+                log.warn("Outbox retry wheel is full ({} entries), further retries are left to the periodic sweep", capacity);
+            }
+            overflowing = dropped > 0;
+        }
+    }
+
+    /**
+     * Number of retry deadlines currently held by the wheel.
+     */
+    int trackedRetries() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void tick() {
+        List<RetryTimerWheel.Entry> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.nanoTime());
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<String, List<Long>> idsByChannel = new LinkedHashMap<>();
+        for (RetryTimerWheel.Entry entry : due) {
+            idsByChannel.computeIfAbsent(entry.channel(), channel -> new ArrayList<>()).add(entry.id());
+        }
+        idsByChannel.forEach((channel, ids) -> {
+            try {
+                int promoted = 0;
+                for (int from = 0; from < ids.size(); from += PROMOTE_CHUNK) {
+                    promoted += outboxRepository.promoteDelayed(ids.subList(from, Math.min(ids.size(), from + PROMOTE_CHUNK)));
+                }
+                if (promoted > 0) {
+                    retriesDue.fire(new OutboxRetriesDue(channel, promoted));
+                }
+            } catch (Exception e) {
+                log.error("Failed to promote {} due outbox retries of channel {}, the sweep will pick them up: {}",
+                        ids.size(), channel, e.getMessage(), e);
+            }
+        });
+    }
+
+    @Scheduled(every = "${formplatform.outbox.retry-sweep.interval:30s}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP,
+            skipExecutionIf = Scheduled.ApplicationNotRunning.class)
+    void sweep() {
+        for (RegisteredChannel channel : channelRegistry.channels()) {
+            int promoted = 0;
+            int chunk;
+            do {
+                chunk = outboxRepository.promoteDue(channel.name(), PROMOTE_CHUNK);
+                promoted += chunk;
+            } while (chunk == PROMOTE_CHUNK);
+            if (promoted > 0) {
+                log.debug("Outbox channel {}: sweep promoted {} due retries", channel.name(), promoted);
+                retriesDue.fire(new OutboxRetriesDue(channel.name(), promoted));
+            }
+        }
+    }
+}
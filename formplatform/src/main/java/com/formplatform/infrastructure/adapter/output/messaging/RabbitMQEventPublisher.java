@@ -3,32 +3,50 @@ package com.formplatform.infrastructure.adapter.output.messaging;
 import com.formplatform.domain.port.output.EventPublisher;
 import io.smallrye.reactive.messaging.annotations.Broadcast;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import org.eclipse.microprofile.reactive.messaging.Channel;
 import org.eclipse.microprofile.reactive.messaging.Emitter;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 
 /**
  * RabbitMQ output adapter - sends messages to the form-created channel.
- * Used by OutboxProcessor to publish persisted events when the queue is available.
+ * Registered as the form-created OutboxChannel, through which OutboxProcessor publishes persisted
+ * events when the queue is available.
  */
 @ApplicationScoped
-public class RabbitMQEventPublisher implements EventPublisher {
+public class RabbitMQEventPublisher implements EventPublisher, OutboxChannel {
 
-    @Channel("form-created")
+    @Channel(OutboxChannel.FORM_CREATED)
     @Broadcast
     Emitter<String> formCreatedEmitter;
 
+    @Inject
+    OutboxPayloadEncoder payloadEncoder;
+
     @Override
     public void publishFormCreated(UUID formId) {
-        String message = String.format("{\"formId\": \"%s\", \"event\": \"FORM_CREATED\"}", formId.toString());
-        sendMessage(message);
+        send(payloadEncoder.encode(OutboxChannel.FORM_CREATED, formId));
+    }
+
+    @Override
+    public void publishFormsCreated(List<UUID> formIds) {
+        formIds.forEach(this::publishFormCreated);
+    }
+
+    @Override
+    public String name() {
+        return OutboxChannel.FORM_CREATED;
     }
 
     /**
-     * Sends raw payload to the channel. Used by OutboxProcessor for resilient delivery.
+     * Sends raw payload to the channel. The returned stage completes once the broker has confirmed
+     * the message (the connector publishes with publisher confirms), or fails if it was rejected.
      */
-    public void sendMessage(String payload) {
-        formCreatedEmitter.send(payload);
+    @Override
+    public CompletionStage<Void> send(String payload) {
+        return formCreatedEmitter.send(payload);
     }
 }
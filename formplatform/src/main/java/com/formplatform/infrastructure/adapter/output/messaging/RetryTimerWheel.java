@@ -0,0 +1,78 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timer wheel of outbox retry deadlines (see OutboxRetryScheduler). Time is cut into ticks
+ * and each deadline goes into the bucket of its tick modulo the wheel size, so adding a deadline
+ * costs O(1) and advancing the wheel only looks at the buckets of the ticks that passed, however
+ * many retries are waiting. Deadlines one or more turns away stay in their bucket until the turn in
+ * which they are due. Not thread-safe: the scheduler serializes access.
+ */
+final class RetryTimerWheel {
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final int mask;
+    private final List<List<Entry>> buckets;
+    private long nextTick;
+    private int size;
+
+    /**
+     * @param wheelSize number of buckets, a power of two
+     */
+    RetryTimerWheel(long tickNanos, int wheelSize, long nowNanos) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickNanos = tickNanos;
+        this.startNanos = nowNanos;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Deadlines are rounded up to the next tick, so an entry never comes out before it is due.
+     * Deadlines already past come out on the next advance.
+     */
+    void add(long id, String channel, long delayNanos, long nowNanos) {
+        long elapsed = Math.max(0, nowNanos + delayNanos - startNanos);
+        long deadlineTick = Math.max(nextTick, (elapsed + tickNanos - 1) / tickNanos);
+        buckets.get((int) (deadlineTick & mask)).add(new Entry(id, channel, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Removes and returns the entries due by nowNanos. After a stall longer than a turn, every
+     * bucket is visited once.
+     */
+    List<Entry> advance(long nowNanos) {
+        long currentTick = (nowNanos - startNanos) / tickNanos;
+        if (currentTick < nextTick) {
+            return List.of();
+        }
+        List<Entry> due = new ArrayList<>();
+        for (long tick = Math.max(nextTick, currentTick - mask); tick <= currentTick; tick++) {
+            buckets.get((int) (tick & mask)).removeIf(entry -> {
+                if (entry.deadlineTick() <= currentTick) {
+                    due.add(entry);
+                    return true;
+                }
+                return false;
+            });
+        }
+        nextTick = currentTick + 1;
+        size -= due.size();
+        return due;
+    }
+
+    record Entry(long id, String channel, long deadlineTick) {}
+}
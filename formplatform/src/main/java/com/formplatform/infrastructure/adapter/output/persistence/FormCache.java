@@ -0,0 +1,114 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import com.formplatform.domain.model.Form;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * In-process cache of decoded forms in front of H2FormRepository.findById.
+ *
+ * Bounded by the estimated heap size of the cached forms (formplatform.form-cache.max-bytes) and by
+ * age (formplatform.form-cache.expire-after-write). Newly saved forms are added once their
+ * transaction commits, so the reads that follow the form-created event are served from memory and
+ * a rolled back form is never visible. Forms submitted as raw JSON have no decoded data yet, so
+ * they are only cached by the first findById that decodes them.
+ */
+@ApplicationScoped
+public class FormCache {
+
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int VALUE_OVERHEAD_BYTES = 16;
+
+    private final Cache<UUID, Form> cache;
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    public FormCache(
+            TransactionSynchronizationRegistry transactionSynchronizationRegistry,
+            @ConfigProperty(name = "formplatform.form-cache.max-bytes", defaultValue = "67108864") long maxBytes,
+            @ConfigProperty(name = "formplatform.form-cache.expire-after-write", defaultValue = "10m") Duration expireAfterWrite) {
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((UUID id, Form form) -> estimateSize(form))
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public Form get(UUID id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void put(Form form) {
+        cache.put(form.getId(), readOnlyCopy(form));
+    }
+
+    /**
+     * Caches the forms when the current transaction commits; nothing is cached on rollback.
+     */
+    public void putAfterCommit(List<Form> forms) {
+        List<Form> copies = forms.stream()
+                .filter(form -> form.getData() != null)
+                .map(FormCache::readOnlyCopy)
+                .toList();
+        if (copies.isEmpty()) {
+            return;
+        }
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    copies.forEach(form -> cache.put(form.getId(), form));
+                }
+            }
+        });
+    }
+
+    private static Form readOnlyCopy(Form form) {
+        return new Form(form.getId(), Collections.unmodifiableMap(form.getData()), form.getCreatedAt());
+    }
+
+    /**
+     * Rough heap footprint of a decoded form: strings at two bytes per char plus per-object overhead.
+     */
+    private static int estimateSize(Form form) {
+        long size = ENTRY_OVERHEAD_BYTES + estimateSize(form.getData());
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private static long estimateSize(Object value) {
+        if (value instanceof String s) {
+            return VALUE_OVERHEAD_BYTES + 2L * s.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = VALUE_OVERHEAD_BYTES;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += VALUE_OVERHEAD_BYTES + estimateSize(entry.getKey()) + estimateSize(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = VALUE_OVERHEAD_BYTES;
+            for (Object element : collection) {
+                size += estimateSize(element);
+            }
+            return size;
+        }
+        return VALUE_OVERHEAD_BYTES;
+    }
+}
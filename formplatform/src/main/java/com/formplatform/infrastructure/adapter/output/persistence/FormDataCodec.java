@@ -0,0 +1,148 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Storage codec for FormEntity form data.
+ *
+ * Formats:
+ * - json: JSON text in the legacy form_data TEXT column (original format)
+ * - smile: binary JSON (Smile) in form_data_bin
+ * - smile-deflate: Smile compressed with Deflate in form_data_bin
+ *
+ * The format used for new rows is chosen with formplatform.persistence.form-data.format. Rows are
+ * always decoded according to their own form_data_format column, and rows written before that
+ * column existed (format null) are read as JSON text, so old and new rows can coexist.
+ *
+ * Raw submissions (writeRaw) are never decoded into a Map: with json the original bytes are stored
+ * as they were received, with the Smile formats the JSON tokens are streamed into the Smile
+ * generator.
+ */
+@ApplicationScoped
+public class FormDataCodec {
+
+    private static final TypeReference<Map<String, Object>> FORM_TYPE = new TypeReference<>() {};
+
+    public enum Format {
+        JSON("json"),
+        SMILE("smile"),
+        SMILE_DEFLATE("smile-deflate");
+
+        private final String id;
+
+        Format(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public static Format fromId(String id) {
+            for (Format format : values()) {
+                if (format.id.equals(id)) {
+                    return format;
+                }
+            }
+            throw new IllegalArgumentException("Unknown form data format: " + id);
+        }
+    }
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final Format writeFormat;
+
+    public FormDataCodec(
+            ObjectMapper objectMapper,
+            @ConfigProperty(name = "formplatform.persistence.form-data.format", defaultValue = "json") String writeFormat) {
+        this.jsonMapper = objectMapper;
+        this.smileMapper = new ObjectMapper(new SmileFactory());
+        this.writeFormat = Format.fromId(writeFormat);
+    }
+
+    /**
+     * Encodes the form data into the entity using the configured format.
+     */
+    public void write(FormEntity entity, Map<String, Object> data) throws IOException {
+        if (writeFormat == Format.JSON) {
+            entity.setFormData(jsonMapper.writeValueAsString(data));
+            entity.setFormDataBinary(null);
+        } else {
+            writeSmile(entity, out -> smileMapper.writeValue(out, data));
+        }
+        entity.setFormDataFormat(writeFormat.id());
+    }
+
+    /**
+     * Encodes a form given as JSON bytes, already validated as a JSON object, without building a Map.
+     */
+    public void writeRaw(FormEntity entity, byte[] json) throws IOException {
+        if (writeFormat == Format.JSON) {
+            entity.setFormData(new String(json, StandardCharsets.UTF_8));
+            entity.setFormDataBinary(null);
+        } else {
+            writeSmile(entity, out -> {
+                try (JsonParser parser = jsonMapper.getFactory().createParser(json);
+                     JsonGenerator generator = smileMapper.getFactory().createGenerator(out)) {
+                    parser.nextToken();
+                    generator.copyCurrentStructure(parser);
+                }
+            });
+        }
+        entity.setFormDataFormat(writeFormat.id());
+    }
+
+    private void writeSmile(FormEntity entity, SmileWriter writer) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        if (writeFormat == Format.SMILE_DEFLATE) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (OutputStream out = new DeflaterOutputStream(buffer, deflater)) {
+                writer.writeTo(out);
+            } finally {
+                deflater.end();
+            }
+        } else {
+            writer.writeTo(buffer);
+        }
+        entity.setFormData(null);
+        entity.setFormDataBinary(buffer.toByteArray());
+    }
+
+    /**
+     * Decodes the form data of the entity according to the format it was written with.
+     */
+    public Map<String, Object> read(FormEntity entity) throws IOException {
+        Format format = entity.getFormDataFormat() == null ? Format.JSON : Format.fromId(entity.getFormDataFormat());
+        return switch (format) {
+            case JSON -> jsonMapper.readValue(entity.getFormData(), FORM_TYPE);
+            case SMILE -> smileMapper.readValue(entity.getFormDataBinary(), FORM_TYPE);
+            case SMILE_DEFLATE -> {
+                try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(entity.getFormDataBinary()))) {
+                    yield smileMapper.readValue(in, FORM_TYPE);
+                }
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface SmileWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -12,13 +12,30 @@ import java.util.UUID;
 @Table(name = "forms")
 public class FormEntity {
 
+    /**
+     * Time-ordered UUIDv7 assigned on construction (see UuidV7)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    /**
+     * JSON text; only used by rows written with the json format (see FormDataCodec)
+     */
     @Column(name = "form_data", columnDefinition = "TEXT")
     private String formData;
 
+    /**
+     * Binary encoding of the form data for the smile / smile-deflate formats
+     */
+    @Column(name = "form_data_bin", columnDefinition = "VARBINARY")
+    private byte[] formDataBinary;
+
+    /**
+     * Format of the stored form data; null for rows written before formats existed (JSON text)
+     */
+    @Column(name = "form_data_format", length = 16)
+    private String formDataFormat;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -26,10 +43,16 @@ public class FormEntity {
     }
 
     public FormEntity(String formData, LocalDateTime createdAt) {
+        this.id = UuidV7.next();
         this.formData = formData;
         this.createdAt = createdAt;
     }
 
+    public FormEntity(LocalDateTime createdAt) {
+        this.id = UuidV7.next();
+        this.createdAt = createdAt;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -46,6 +69,22 @@ public class FormEntity {
         this.formData = formData;
     }
 
+    public byte[] getFormDataBinary() {
+        return formDataBinary;
+    }
+
+    public void setFormDataBinary(byte[] formDataBinary) {
+        this.formDataBinary = formDataBinary;
+    }
+
+    public String getFormDataFormat() {
+        return formDataFormat;
+    }
+
+    public void setFormDataFormat(String formDataFormat) {
+        this.formDataFormat = formDataFormat;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
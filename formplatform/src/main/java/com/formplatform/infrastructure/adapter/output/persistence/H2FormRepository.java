@@ -1,14 +1,13 @@
 package com.formplatform.infrastructure.adapter.output.persistence;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.formplatform.domain.model.Form;
 import com.formplatform.domain.port.output.FormRepository;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -18,30 +17,76 @@ import java.util.UUID;
 @ApplicationScoped
 public class H2FormRepository implements FormRepository {
 
-    @Inject
-    ObjectMapper objectMapper;
+    /**
+     * Matches quarkus.hibernate-orm.jdbc.statement-batch-size so each flush sends full JDBC batches
+     * and the persistence context does not grow with the size of the request.
+     */
+    private static final int FLUSH_INTERVAL = 50;
 
-    @Inject
-    EntityManager entityManager;
+    private final FormDataCodec formDataCodec;
+    private final EntityManager entityManager;
+    private final FormCache formCache;
+
+    public H2FormRepository(FormDataCodec formDataCodec, EntityManager entityManager, FormCache formCache) {
+        this.formDataCodec = formDataCodec;
+        this.entityManager = entityManager;
+        this.formCache = formCache;
+    }
 
     @Override
     @Transactional
     public Form save(Form form) {
         try {
-            String jsonData = objectMapper.writeValueAsString(form.getData());
-            FormEntity entity = new FormEntity(jsonData, form.getCreatedAt());
+            FormEntity entity = new FormEntity(form.getCreatedAt());
+            encode(entity, form);
             entityManager.persist(entity);
-            entityManager.flush();
 
             form.setId(entity.getId());
+            formCache.putAfterCommit(List.of(form));
             return form;
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
+            throw new RuntimeException("Error serializing form data", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<Form> saveAll(List<Form> forms) {
+        try {
+            for (int i = 0; i < forms.size(); i++) {
+                Form form = forms.get(i);
+                FormEntity entity = new FormEntity(form.getCreatedAt());
+                encode(entity, form);
+                entityManager.persist(entity);
+                form.setId(entity.getId());
+
+                if ((i + 1) % FLUSH_INTERVAL == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+            formCache.putAfterCommit(forms);
+            return forms;
+        } catch (IOException e) {
             throw new RuntimeException("Error serializing form data", e);
         }
     }
 
+    private void encode(FormEntity entity, Form form) throws IOException {
+        if (form.getRawData() != null) {
+            formDataCodec.writeRaw(entity, form.getRawData().json());
+        } else {
+            formDataCodec.write(entity, form.getData());
+        }
+    }
+
     @Override
     public Form findById(UUID id) {
+        Form cached = formCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
         FormEntity entity = entityManager.find(FormEntity.class, id);
 
         if (entity == null) {
@@ -49,10 +94,11 @@ public class H2FormRepository implements FormRepository {
         }
 
         try {
-            @SuppressWarnings("unchecked")
-            Map<String, Object> data = objectMapper.readValue(entity.getFormData(), Map.class);
-            return new Form(entity.getId(), data, entity.getCreatedAt());
-        } catch (JsonProcessingException e) {
+            Map<String, Object> data = formDataCodec.read(entity);
+            Form form = new Form(entity.getId(), data, entity.getCreatedAt());
+            formCache.put(form);
+            return form;
+        } catch (IOException e) {
             throw new RuntimeException("Error deserializing form data", e);
         }
     }
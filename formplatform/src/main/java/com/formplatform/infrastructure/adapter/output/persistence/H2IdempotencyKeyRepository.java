@@ -0,0 +1,135 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import com.formplatform.application.exception.DuplicateIdempotencyKeyException;
+import com.formplatform.domain.port.output.IdempotencyKeyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * H2 output adapter implementing IdempotencyKeyRepository.
+ *
+ * The idempotency_keys table is the source of truth and its primary key is what guarantees one form
+ * per key. Two in-memory structures keep lookups off the database during retry storms:
+ * - an LRU cache of recently committed key -> form id mappings, which answers retries
+ * - a Bloom filter of known keys, which answers "never seen" for first-time keys
+ *
+ * Both are hints only: a key missed by the filter (e.g. registered by another instance, or while
+ * the filter was being rebuilt) reaches the primary key and surfaces as
+ * DuplicateIdempotencyKeyException, after which the retried lookup goes to the table.
+ */
+@ApplicationScoped
+public class H2IdempotencyKeyRepository implements IdempotencyKeyRepository {
+
+    private final EntityManager entityManager;
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+    private final Cache<String, UUID> recentKeys;
+    private final long expectedKeys;
+    private volatile IdempotencyKeyFilter knownKeys;
+
+    public H2IdempotencyKeyRepository(
+            EntityManager entityManager,
+            TransactionSynchronizationRegistry transactionSynchronizationRegistry,
+            @ConfigProperty(name = "formplatform.idempotency.ttl", defaultValue = "24h") Duration ttl,
+            @ConfigProperty(name = "formplatform.idempotency.cache-size", defaultValue = "100000") long cacheSize,
+            @ConfigProperty(name = "formplatform.idempotency.expected-keys", defaultValue = "1000000") long expectedKeys) {
+        this.entityManager = entityManager;
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+        this.expectedKeys = expectedKeys;
+        this.knownKeys = new IdempotencyKeyFilter(expectedKeys);
+    }
+
+    @Override
+    public Optional<UUID> findFormId(String idempotencyKey) {
+        UUID cached = recentKeys.getIfPresent(idempotencyKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        if (!knownKeys.mightContain(idempotencyKey)) {
+            return Optional.empty();
+        }
+
+        IdempotencyKeyEntity entity = entityManager.find(IdempotencyKeyEntity.class, idempotencyKey);
+        if (entity == null) {
+            return Optional.empty();
+        }
+        recentKeys.put(idempotencyKey, entity.getFormId());
+        return Optional.of(entity.getFormId());
+    }
+
+    @Override
+    @Transactional
+    public void save(String idempotencyKey, UUID formId) {
+        // Added before commit: a rollback only leaves a harmless false positive
+        knownKeys.add(idempotencyKey);
+        try {
+            entityManager.persist(new IdempotencyKeyEntity(idempotencyKey, formId));
+            entityManager.flush();
+        } catch (PersistenceException e) {
+            // flush() hands Hibernate's ConstraintViolationException over wrapped by the JPA exception converter
+            if (!(e instanceof ConstraintViolationException) && !(e.getCause() instanceof ConstraintViolationException)) {
+                throw e;
+            }
+            // The failed insert leaves the unit of work unusable: roll it back, the caller retries in a new one
+            transactionSynchronizationRegistry.setRollbackOnly();
+            throw new DuplicateIdempotencyKeyException(idempotencyKey, e);
+        }
+
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    recentKeys.put(idempotencyKey, formId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes keys registered before the cutoff. Returns the number of keys removed.
+     */
+    @Transactional
+    public int purgeExpired(LocalDateTime cutoff) {
+        return entityManager
+                .createQuery("DELETE FROM IdempotencyKeyEntity k WHERE k.createdAt < :cutoff")
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+
+    /**
+     * Replaces the Bloom filter with one built from the keys currently in the table, so purged keys
+     * stop producing false positives.
+     */
+    @Transactional
+    public void rebuildFilter() {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter(expectedKeys);
+        try (Stream<String> keys = entityManager
+                .createQuery("SELECT k.idempotencyKey FROM IdempotencyKeyEntity k", String.class)
+                .getResultStream()) {
+            keys.forEach(filter::add);
+        }
+        knownKeys = filter;
+    }
+}
@@ -0,0 +1,45 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Loads the idempotency key filter on startup and periodically deletes keys older than
+ * formplatform.idempotency.ttl, after which a retry with that key creates a new form.
+ */
+@ApplicationScoped
+public class IdempotencyKeyCleanup {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyKeyCleanup.class);
+
+    private final H2IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration ttl;
+
+    public IdempotencyKeyCleanup(
+            H2IdempotencyKeyRepository idempotencyKeyRepository,
+            @ConfigProperty(name = "formplatform.idempotency.ttl", defaultValue = "24h") Duration ttl) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ttl = ttl;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        idempotencyKeyRepository.rebuildFilter();
+    }
+
+    @Scheduled(every = "${formplatform.idempotency.cleanup-interval:15m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeExpiredKeys() {
+        int purged = idempotencyKeyRepository.purgeExpired(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            idempotencyKeyRepository.rebuildFilter();
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for Idempotency-Key registrations. The key is the primary key, so two concurrent
+ * submissions with the same key cannot both commit.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_created", columnList = "created_at"))
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(name = "form_id", nullable = false)
+    private UUID formId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public IdempotencyKeyEntity() {
+    }
+
+    public IdempotencyKeyEntity(String idempotencyKey, UUID formId) {
+        this.idempotencyKey = idempotencyKey;
+        this.formId = formId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public UUID getFormId() {
+        return formId;
+    }
+
+    public void setFormId(UUID formId) {
+        this.formId = formId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
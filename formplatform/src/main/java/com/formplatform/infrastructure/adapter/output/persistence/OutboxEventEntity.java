@@ -3,12 +3,16 @@ package com.formplatform.infrastructure.adapter.output.persistence;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 /**
  * JPA Entity for transactional outbox - events to be published when queue is available
  */
 @Entity
-@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_status_created", columnList = "status, created_at"))
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_outbox_channel_status_retry_created", columnList = "channel, status, next_retry_at, created_at")
+})
 public class OutboxEventEntity {
 
     @Id
@@ -18,9 +22,15 @@ public class OutboxEventEntity {
     @Column(name = "channel", nullable = false, length = 64)
     private String channel;
 
-    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    /**
+     * Wire payload, or null for compact rows whose payload is rendered from form_id at publish time.
+     */
+    @Column(name = "payload", columnDefinition = "TEXT")
     private String payload;
 
+    @Column(name = "form_id")
+    private UUID formId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 16)
     private Status status = Status.PENDING;
@@ -31,9 +41,21 @@ public class OutboxEventEntity {
     @Column(name = "retry_count", nullable = false)
     private int retryCount = 0;
 
+    /**
+     * Set while the event waits for a retry (delayed), null once it is ready to be claimed.
+     */
     @Column(name = "next_retry_at")
     private LocalDateTime nextRetryAt;
 
+    /**
+     * Token of the drain that currently holds the event; only meaningful while claimed_until has not passed.
+     */
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
     public enum Status {
         PENDING,
         SENT,
@@ -49,6 +71,12 @@ public class OutboxEventEntity {
         this.createdAt = LocalDateTime.now();
     }
 
+    public OutboxEventEntity(String channel, UUID formId) {
+        this.channel = channel;
+        this.formId = formId;
+        this.createdAt = LocalDateTime.now();
+    }
+
     public Long getId() {
         return id;
     }
@@ -73,6 +101,14 @@ public class OutboxEventEntity {
         this.payload = payload;
     }
 
+    public UUID getFormId() {
+        return formId;
+    }
+
+    public void setFormId(UUID formId) {
+        this.formId = formId;
+    }
+
     public Status getStatus() {
         return status;
     }
@@ -104,4 +140,20 @@ public class OutboxEventEntity {
     public void setNextRetryAt(LocalDateTime nextRetryAt) {
         this.nextRetryAt = nextRetryAt;
     }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(String claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+
+    public void setClaimedUntil(LocalDateTime claimedUntil) {
+        this.claimedUntil = claimedUntil;
+    }
 }
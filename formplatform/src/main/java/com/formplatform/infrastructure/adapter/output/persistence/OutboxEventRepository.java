@@ -3,23 +3,49 @@ package com.formplatform.infrastructure.adapter.output.persistence;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Persists and reads outbox events for resilient event publishing.
- * Implements exponential backoff via next_retry_at: events are only picked up
- * once their next_retry_at timestamp has passed.
+ * Implements exponential backoff via next_retry_at: a PENDING event is ready while next_retry_at is
+ * null and delayed while it holds the time of its next attempt. Claims only read ready rows, at the
+ * head of the (channel, status, next_retry_at, created_at) index, so a pile of delayed retries is
+ * never rescanned; delayed rows are made ready again (promoted) once their retry is due.
+ *
+ * Several instances can drain the same table: a drain picks the ids of the oldest claimable events
+ * of its channel, stamps a fresh claim_token and a lease (claimed_until) on them with an UPDATE that
+ * re-checks the claim condition on each row it locks, and reads back the rows carrying its token.
+ * Two drains therefore never get the same event; the one that loses a race just claims fewer rows.
+ * Claims of a drain that died expire with the lease and the events are picked up again. All
+ * timestamps come from the database clock so instances need not agree on time.
+ *
+ * Ordering by the full prefix of an index (e.g. channel, status, next_retry_at, created_at) lets H2
+ * read the rows in index order and stop at the limit instead of sorting the whole backlog.
  */
 @ApplicationScoped
 public class OutboxEventRepository implements OutboxRepository {
 
+    private static final int CLAIM_ATTEMPTS = 3;
+    // Lower bound for delayed rows: without it H2 walks the ready (null) entries at the head of the index range
+    private static final String DELAYED = "next_retry_at > TIMESTAMP '1970-01-01 00:00:00'";
+
     private final EntityManager entityManager;
+    private final Duration claimLease;
 
-    public OutboxEventRepository(EntityManager entityManager) {
+    public OutboxEventRepository(
+            EntityManager entityManager,
+            @ConfigProperty(name = "formplatform.outbox.claim-lease", defaultValue = "60s") Duration claimLease) {
         this.entityManager = entityManager;
+        this.claimLease = claimLease;
     }
 
     @Override
@@ -30,56 +56,251 @@ public class OutboxEventRepository implements OutboxRepository {
     }
 
     @Override
-    public List<PendingOutboxEvent> findPending(int limit) {
-        // Only return events whose next_retry_at is null (first attempt) or has already passed
+    @Transactional
+    public void saveFormEvent(String channel, UUID formId) {
+        OutboxEventEntity entity = new OutboxEventEntity(channel, formId);
+        entityManager.persist(entity);
+    }
+
+    @Override
+    @Transactional
+    public void saveAll(String channel, List<String> payloads) {
+        insertBatch(channel, "payload", payloads);
+    }
+
+    @Override
+    @Transactional
+    public void saveFormEvents(String channel, List<UUID> formIds) {
+        insertBatch(channel, "form_id", formIds);
+    }
+
+    /**
+     * Inserts through plain JDBC batching: the IDENTITY key on outbox_events makes Hibernate
+     * fall back to one INSERT per entity, which defeats batching for large submissions.
+     */
+    private void insertBatch(String channel, String valueColumn, List<?> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO outbox_events (channel, " + valueColumn + ", status, created_at, retry_count) " +
+                    "VALUES (?, ?, ?, ?, 0)")) {
+                for (Object value : values) {
+                    ps.setString(1, channel);
+                    ps.setObject(2, value);
+                    ps.setString(3, OutboxEventEntity.Status.PENDING.name());
+                    ps.setTimestamp(4, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Retries when every selected event was claimed by a concurrent drain in the meantime, which
+     * happens when several workers start on the same backlog.
+     */
+    @Override
+    @Transactional
+    public List<PendingOutboxEvent> claimPending(String channel, int limit) {
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS; attempt++) {
+            List<Long> candidates = findClaimable(channel, limit);
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            String claimToken = UUID.randomUUID().toString();
+            int claimed = entityManager
+                    .createNativeQuery(
+                            "UPDATE outbox_events SET claim_token = :token, " +
+                            "  claimed_until = DATEADD(MILLISECOND, :leaseMillis, LOCALTIMESTAMP) " +
+                            "WHERE id IN (:ids) " +
+                            "  AND status = :pending " +
+                            "  AND (claimed_until IS NULL OR claimed_until <= LOCALTIMESTAMP)")
+                    .setParameter("token", claimToken)
+                    .setParameter("leaseMillis", claimLease.toMillis())
+                    .setParameter("ids", candidates)
+                    .setParameter("pending", OutboxEventEntity.Status.PENDING.name())
+                    .executeUpdate();
+            if (claimed > 0) {
+                return readClaimed(candidates, claimToken);
+            }
+        }
+        return List.of();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> findClaimable(String channel, int limit) {
+        List<Number> ids = entityManager
+                .createNativeQuery(
+                        "SELECT id FROM outbox_events " +
+                        "WHERE channel = :channel AND status = :pending AND next_retry_at IS NULL " +
+                        "  AND (claimed_until IS NULL OR claimed_until <= LOCALTIMESTAMP) " +
+                        "ORDER BY channel, status, next_retry_at, created_at " +
+                        "LIMIT :limit")
+                .setParameter("channel", channel)
+                .setParameter("pending", OutboxEventEntity.Status.PENDING.name())
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+
+    private List<PendingOutboxEvent> readClaimed(List<Long> candidates, String claimToken) {
         List<OutboxEventEntity> entities = entityManager
                 .createQuery(
-                        "SELECT e FROM OutboxEventEntity e " +
-                        "WHERE e.status = :status " +
-                        "  AND (e.nextRetryAt IS NULL OR e.nextRetryAt <= :now) " +
-                        "ORDER BY e.createdAt ASC",
+                        "SELECT e FROM OutboxEventEntity e WHERE e.id IN :ids AND e.claimToken = :token " +
+                        "ORDER BY e.createdAt, e.id",
                         OutboxEventEntity.class)
-                .setParameter("status", OutboxEventEntity.Status.PENDING)
-                .setParameter("now", LocalDateTime.now())
-                .setMaxResults(limit)
+                .setParameter("ids", candidates)
+                .setParameter("token", claimToken)
                 .getResultList();
         return entities.stream()
-                .map(e -> new PendingOutboxEvent(e.getId(), e.getChannel(), e.getPayload(), e.getRetryCount()))
+                .map(e -> new PendingOutboxEvent(e.getId(), e.getChannel(), e.getPayload(), e.getFormId(), e.getRetryCount(), claimToken))
                 .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
-    public void markSent(Long id) {
-        OutboxEventEntity e = entityManager.find(OutboxEventEntity.class, id);
-        if (e != null) {
-            e.setStatus(OutboxEventEntity.Status.SENT);
-        }
+    public void markSentAll(List<Long> ids, String claimToken) {
+        entityManager
+                .createQuery(
+                        "UPDATE OutboxEventEntity e SET e.status = :status, e.claimToken = NULL, e.claimedUntil = NULL " +
+                        "WHERE e.id IN :ids AND e.claimToken = :token")
+                .setParameter("status", OutboxEventEntity.Status.SENT)
+                .setParameter("ids", ids)
+                .setParameter("token", claimToken)
+                .executeUpdate();
     }
 
     @Override
     @Transactional
-    public void markFailed(Long id) {
-        OutboxEventEntity e = entityManager.find(OutboxEventEntity.class, id);
-        if (e != null) {
-            e.setStatus(OutboxEventEntity.Status.FAILED);
-        }
+    public void releaseClaims(List<Long> ids, String claimToken) {
+        entityManager
+                .createQuery(
+                        "UPDATE OutboxEventEntity e SET e.claimToken = NULL, e.claimedUntil = NULL " +
+                        "WHERE e.id IN :ids AND e.claimToken = :token")
+                .setParameter("ids", ids)
+                .setParameter("token", claimToken)
+                .executeUpdate();
     }
 
     /**
-     * Increments the retry counter and sets next_retry_at using exponential backoff.
-     * Backoff schedule (seconds): 10, 20, 40, 80, 160, 320, ... capped at 1 hour.
+     * Backoff is computed by the database from the stored retry count (right-hand side values are
+     * the ones before the update): 10, 20, 40, 80, 160, 320, ... seconds, capped at 1 hour.
      */
     @Override
     @Transactional
-    public void incrementRetry(Long id) {
-        OutboxEventEntity e = entityManager.find(OutboxEventEntity.class, id);
-        if (e != null) {
-            int newRetryCount = e.getRetryCount() + 1;
-            e.setRetryCount(newRetryCount);
-
-            long backoffSeconds = Math.min((long) (10 * Math.pow(2, newRetryCount - 1)), 3600L);
-            e.setNextRetryAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+    @SuppressWarnings("unchecked")
+    public List<DelayedOutboxEvent> scheduleRetryAll(List<Long> ids, String claimToken, int maxRetries) {
+        entityManager
+                .createNativeQuery(
+                        "UPDATE outbox_events SET " +
+                        "  retry_count = retry_count + 1, " +
+                        "  next_retry_at = DATEADD(SECOND, CAST(LEAST(10 * POWER(2, retry_count), 3600) AS BIGINT), LOCALTIMESTAMP), " +
+                        "  status = CASE WHEN retry_count + 1 >= :maxRetries THEN :failed ELSE status END, " +
+                        "  claim_token = NULL, claimed_until = NULL " +
+                        "WHERE id IN (:ids) AND claim_token = :token")
+                .setParameter("maxRetries", maxRetries)
+                .setParameter("failed", OutboxEventEntity.Status.FAILED.name())
+                .setParameter("ids", ids)
+                .setParameter("token", claimToken)
+                .executeUpdate();
+        List<Object[]> rows = entityManager
+                .createNativeQuery(
+                        "SELECT id, channel, DATEDIFF(MILLISECOND, LOCALTIMESTAMP, next_retry_at) FROM outbox_events " +
+                        "WHERE id IN (:ids) AND status = :pending AND " + DELAYED)
+                .setParameter("ids", ids)
+                .setParameter("pending", OutboxEventEntity.Status.PENDING.name())
+                .getResultList();
+        return toDelayed(rows);
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<DelayedOutboxEvent> findDelayed(String channel, int limit) {
+        List<Object[]> rows = entityManager
+                .createNativeQuery(
+                        "SELECT id, channel, DATEDIFF(MILLISECOND, LOCALTIMESTAMP, next_retry_at) FROM outbox_events " +
+                        "WHERE channel = :channel AND status = :pending AND " + DELAYED + " " +
+                        "ORDER BY channel, status, next_retry_at " +
+                        "LIMIT :limit")
+                .setParameter("channel", channel)
+                .setParameter("pending", OutboxEventEntity.Status.PENDING.name())
+                .setParameter("limit", limit)
+                .getResultList();
+        return toDelayed(rows);
+    }
+
+    private static List<DelayedOutboxEvent> toDelayed(List<Object[]> rows) {
+        return rows.stream()
+                .map(row -> new DelayedOutboxEvent(((Number) row[0]).longValue(), (String) row[1], ((Number) row[2]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Rows that are not due yet by the database clock, or were promoted already, are left alone.
+     */
+    @Override
+    @Transactional
+    public int promoteDelayed(List<Long> ids) {
+        return entityManager
+                .createNativeQuery(
+                        "UPDATE outbox_events SET next_retry_at = NULL " +
+                        "WHERE id IN (:ids) AND status = :pending AND next_retry_at <= LOCALTIMESTAMP")
+                .setParameter("ids", ids)
+                .setParameter("pending", OutboxEventEntity.Status.PENDING.name())
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public int promoteDue(String channel, int limit) {
+        List<Number> ids = entityManager
+                .createNativeQuery(
+                        "SELECT id FROM outbox_events " +
+                        "WHERE channel = :channel AND status = :pending AND " + DELAYED + " " +
+                        "  AND next_retry_at <= LOCALTIMESTAMP " +
+                        "ORDER BY channel, status, next_retry_at " +
+                        "LIMIT :limit")
+                .setParameter("channel", channel)
+                .setParameter("pending", OutboxEventEntity.Status.PENDING.name())
+                .setParameter("limit", limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return promoteDelayed(ids.stream().map(Number::longValue).collect(Collectors.toList()));
+    }
+
+    /**
+     * Deletes up to limit SENT events created before cutoff, oldest first, and returns how many were
+     * deleted. Every call reads the head of the (status, created_at) index range again; the rows
+     * deleted by earlier calls are gone from the index, so the head is always the oldest SENT event
+     * left, no offset is needed, and every call only locks a small set of rows.
+     */
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public int purgeSent(LocalDateTime cutoff, int limit) {
+        List<Number> ids = entityManager
+                .createNativeQuery(
+                        "SELECT id FROM outbox_events " +
+                        "WHERE status = :sent AND created_at < :cutoff " +
+                        "ORDER BY status, created_at " +
+                        "LIMIT :limit")
+                .setParameter("sent", OutboxEventEntity.Status.SENT.name())
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return 0;
         }
+        return entityManager
+                .createQuery("DELETE FROM OutboxEventEntity e WHERE e.id IN :ids")
+                .setParameter("ids", ids.stream().map(Number::longValue).collect(Collectors.toList()))
+                .executeUpdate();
     }
 }
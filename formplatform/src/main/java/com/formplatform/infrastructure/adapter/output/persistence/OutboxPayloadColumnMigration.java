@@ -0,0 +1,52 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * One-off schema migration for compact outbox rows (formplatform.outbox.compact-rows.enabled).
+ *
+ * Databases created before compact rows have outbox_events.payload NOT NULL, which schema update
+ * does not relax. On startup, and only with compact rows enabled, the column is made nullable if it
+ * still is NOT NULL; on every later start the check finds it nullable and nothing is altered.
+ */
+@ApplicationScoped
+public class OutboxPayloadColumnMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxPayloadColumnMigration.class);
+
+    private final EntityManager entityManager;
+    private final boolean compactRows;
+
+    public OutboxPayloadColumnMigration(
+            EntityManager entityManager,
+            @ConfigProperty(name = "formplatform.outbox.compact-rows.enabled", defaultValue = "true") boolean compactRows) {
+        this.entityManager = entityManager;
+        this.compactRows = compactRows;
+    }
+
+    @Transactional
+    void onStart(@Observes StartupEvent event) {
+        if (!compactRows || !payloadNotNull()) {
+            return;
+        }
+        entityManager.createNativeQuery("ALTER TABLE outbox_events ALTER COLUMN payload SET NULL").executeUpdate();
+        log.info("Made outbox_events.payload nullable for compact outbox rows");
+    }
+
+    private boolean payloadNotNull() {
+        List<?> nullable = entityManager.createNativeQuery(
+                        "SELECT is_nullable FROM information_schema.columns " +
+                        "WHERE table_schema = CURRENT_SCHEMA AND table_name = 'OUTBOX_EVENTS' AND column_name = 'PAYLOAD'")
+                .getResultList();
+        return nullable.equals(List.of("NO"));
+    }
+}
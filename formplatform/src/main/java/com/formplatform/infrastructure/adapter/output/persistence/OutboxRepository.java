@@ -1,6 +1,7 @@
 package com.formplatform.infrastructure.adapter.output.persistence;
 
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Contract for persisting and reading outbox events (resilience when queue is unavailable).
@@ -14,15 +15,76 @@ public interface OutboxRepository {
     void save(String channel, String payload);
 
     /**
-     * Find pending events to be sent, ordered by creation date, limited by limit.
+     * Persist several events for the same channel using a single JDBC batch.
+     * Must be called in the same transaction as the business operation.
      */
-    List<PendingOutboxEvent> findPending(int limit);
+    void saveAll(String channel, List<String> payloads);
 
-    void markSent(Long id);
+    /**
+     * Persist a compact event row holding only the channel and the form id; the payload is rendered
+     * when the event is published. Must be called in the same transaction as the business operation.
+     */
+    void saveFormEvent(String channel, UUID formId);
+
+    /**
+     * Persist several compact event rows for the same channel using a single JDBC batch.
+     * Must be called in the same transaction as the business operation.
+     */
+    void saveFormEvents(String channel, List<UUID> formIds);
 
-    void markFailed(Long id);
+    /**
+     * Claim up to limit ready events of one channel, oldest first, and return them. Events waiting
+     * for a retry are not ready until they are promoted. Claimed events are skipped by
+     * every other drain, in this or another instance, until they are marked sent or retried or
+     * their lease expires, so concurrent drains work on disjoint events.
+     */
+    List<PendingOutboxEvent> claimPending(String channel, int limit);
 
-    void incrementRetry(Long id);
+    /**
+     * Mark several events as sent with a single update, releasing their claim. Events no longer
+     * held under claimToken (their lease expired and another drain took them over) are left alone.
+     */
+    void markSentAll(List<Long> ids, String claimToken);
+
+    /**
+     * Record a failed publish attempt for several events with a single update: increments their
+     * retry count, schedules the next attempt with exponential backoff and marks FAILED the ones
+     * that reach maxRetries. Their claim is released. Only events still held under claimToken are
+     * updated. Returns the events that will be retried, with the time left until their retry is due.
+     */
+    List<DelayedOutboxEvent> scheduleRetryAll(List<Long> ids, String claimToken, int maxRetries);
+
+    /**
+     * Up to limit events of one channel waiting for a retry, soonest due first.
+     */
+    List<DelayedOutboxEvent> findDelayed(String channel, int limit);
 
-    record PendingOutboxEvent(Long id, String channel, String payload, int retryCount) {}
+    /**
+     * Make the given events ready again if their retry is due; returns how many were promoted.
+     */
+    int promoteDelayed(List<Long> ids);
+
+    /**
+     * Make up to limit due events of one channel ready again, soonest due first; returns how many
+     * were promoted.
+     */
+    int promoteDue(String channel, int limit);
+
+    /**
+     * Release the claim of several events with a single update, leaving them PENDING with their
+     * retry count unchanged, so the next drain picks them up again. Only events still held under
+     * claimToken are released.
+     */
+    void releaseClaims(List<Long> ids, String claimToken);
+
+    /**
+     * A claimed event: payload is set for rows stored with their payload, formId for compact rows.
+     * claimToken identifies the claim, shared by the events claimed together.
+     */
+    record PendingOutboxEvent(Long id, String channel, String payload, UUID formId, int retryCount, String claimToken) {}
+
+    /**
+     * An event waiting for a retry, due in delayMillis (zero or negative when already due).
+     */
+    record DelayedOutboxEvent(Long id, String channel, long delayMillis) {}
 }
@@ -0,0 +1,55 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Periodically deletes SENT outbox events older than formplatform.outbox.retention.sent-max-age so
+ * outbox_events and its status index only hold the events still in flight plus a recent history.
+ * Rows are deleted in chunks of chunk-size, each in its own short transaction, so the purge never
+ * blocks the outbox relay or concurrent submissions for long. PENDING and FAILED events are kept.
+ */
+@ApplicationScoped
+public class OutboxRetention {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRetention.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final Duration sentMaxAge;
+    private final int chunkSize;
+
+    public OutboxRetention(
+            OutboxEventRepository outboxEventRepository,
+            @ConfigProperty(name = "formplatform.outbox.retention.sent-max-age", defaultValue = "7d") Duration sentMaxAge,
+            @ConfigProperty(name = "formplatform.outbox.retention.chunk-size", defaultValue = "1000") int chunkSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sentMaxAge = sentMaxAge;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(every = "${formplatform.outbox.retention.interval:10m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeSentEvents() {
+        // Fixed for the whole run so events sent while purging do not extend it
+        LocalDateTime cutoff = LocalDateTime.now().minus(sentMaxAge);
+        long startNanos = System.nanoTime();
+        long purged = 0;
+        int chunks = 0;
+        int deleted;
+        do {
+            deleted = outboxEventRepository.purgeSent(cutoff, chunkSize);
+            purged += deleted;
+            chunks++;
+        } while (deleted == chunkSize);
+
+        if (purged > 0) {
+            log.info("Purged {} SENT outbox events created before {} in {} chunks ({} ms)",
+                    purged, cutoff, chunks, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.formplatform.infrastructure.config;
 
+import com.formplatform.application.usecase.GetFormUseCase;
 import com.formplatform.application.usecase.SubmitFormUseCase;
+import com.formplatform.domain.port.input.GetFormQuery;
 import com.formplatform.domain.port.input.SubmitFormCommand;
 import com.formplatform.domain.port.output.EventPublisher;
 import com.formplatform.domain.port.output.FormRepository;
+import com.formplatform.domain.port.output.IdempotencyKeyRepository;
+import com.formplatform.infrastructure.transaction.GroupCommitSubmitFormCommand;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Produces;
 import jakarta.inject.Named;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
 
 /**
  * Configuration class for dependency injection
@@ -16,7 +24,29 @@ public class BeanConfiguration {
 
     @Produces
     @ApplicationScoped
-    public SubmitFormCommand submitFormCommand(FormRepository formRepository, @Named("outbox") EventPublisher eventPublisher) {
-        return new SubmitFormUseCase(formRepository, eventPublisher);
+    public SubmitFormCommand submitFormCommand(
+            FormRepository formRepository,
+            @Named("outbox") EventPublisher eventPublisher,
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            @ConfigProperty(name = "formplatform.submit.group-commit.enabled", defaultValue = "false") boolean groupCommitEnabled,
+            @ConfigProperty(name = "formplatform.submit.group-commit.max-size", defaultValue = "64") int groupCommitMaxSize,
+            @ConfigProperty(name = "formplatform.submit.group-commit.window", defaultValue = "2ms") Duration groupCommitWindow) {
+        SubmitFormCommand submitFormUseCase = new SubmitFormUseCase(formRepository, eventPublisher, idempotencyKeyRepository);
+        if (groupCommitEnabled) {
+            return new GroupCommitSubmitFormCommand(submitFormUseCase, groupCommitMaxSize, groupCommitWindow);
+        }
+        return submitFormUseCase;
+    }
+
+    @Produces
+    @ApplicationScoped
+    public GetFormQuery getFormQuery(FormRepository formRepository) {
+        return new GetFormUseCase(formRepository);
+    }
+
+    void closeSubmitFormCommand(@Disposes SubmitFormCommand submitFormCommand) {
+        if (submitFormCommand instanceof GroupCommitSubmitFormCommand groupCommit) {
+            groupCommit.close();
+        }
     }
 }
@@ -0,0 +1,215 @@
+package com.formplatform.infrastructure.transaction;
+
+import com.formplatform.application.exception.InvalidFormException;
+import com.formplatform.domain.model.RawFormData;
+import com.formplatform.domain.port.input.SubmitFormCommand;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group-commit decorator for SubmitFormCommand.
+ *
+ * Concurrent single submissions are queued and a dedicated committer thread writes everything
+ * that arrives within a short window (or up to maxGroupSize submissions) through
+ * SubmitFormCommand.executeBatch in ONE transaction, so the commit sync of H2 is paid once per
+ * group instead of once per request and only one pooled connection is used.
+ *
+ * Each caller blocks until the shared transaction has committed and then receives its own id,
+ * or its own InvalidFormException. If the shared transaction fails, every submission of the group
+ * is retried in its own transaction so one bad submission cannot fail the others.
+ *
+ * BatchingReceiveFormCreatedCommand of FormPresentationReceiver is a copy of this design for inbox
+ * inserts; keep both in sync when changing either one.
+ */
+public class GroupCommitSubmitFormCommand implements SubmitFormCommand, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitSubmitFormCommand.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final SubmitFormCommand delegate;
+    private final int maxGroupSize;
+    private final long windowNanos;
+    private final BlockingQueue<PendingSubmission> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private final Object lifecycleLock = new Object();
+    private volatile boolean running = true;
+
+    public GroupCommitSubmitFormCommand(SubmitFormCommand delegate, int maxGroupSize, Duration window) {
+        this.delegate = delegate;
+        this.maxGroupSize = maxGroupSize;
+        this.windowNanos = window.toNanos();
+        this.committer = new Thread(this::commitLoop, "form-group-commit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Submissions with an idempotency key are not grouped: the key has to be registered in the same
+     * transaction as its form, and a duplicate key must only roll back its own submission. The
+     * caller provides that transaction.
+     */
+    @Override
+    public UUID execute(Map<String, Object> formData, String idempotencyKey) {
+        if (idempotencyKey != null) {
+            return delegate.execute(formData, idempotencyKey);
+        }
+        PendingSubmission submission = new PendingSubmission(formData, new CompletableFuture<>());
+        // Checked and enqueued under the lock close() takes, so nothing is enqueued once it has
+        // started: every queued submission is either committed by the committer or failed by close()
+        synchronized (lifecycleLock) {
+            if (!running) {
+                throw new IllegalStateException("Group commit is shutting down");
+            }
+            queue.add(submission);
+        }
+        try {
+            return submission.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Group commit failed", e.getCause());
+        }
+    }
+
+    /**
+     * Raw submissions are not grouped: batching goes through executeBatch, which takes decoded forms.
+     * Like explicit batches they run in the caller's transaction, so they commit the same way
+     * whether group commit is enabled or not.
+     */
+    @Override
+    public UUID executeRaw(RawFormData formData, String idempotencyKey) {
+        return delegate.executeRaw(formData, idempotencyKey);
+    }
+
+    /**
+     * Explicit batches already share one transaction, so they bypass the queue.
+     */
+    @Override
+    public List<SubmissionResult> executeBatch(List<Map<String, Object>> forms) {
+        return delegate.executeBatch(forms);
+    }
+
+    @Override
+    public void close() {
+        synchronized (lifecycleLock) {
+            running = false;
+        }
+        // The committer drains what is still queued before it stops
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingSubmission leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().completeExceptionally(new IllegalStateException("Group commit is shutting down"));
+        }
+    }
+
+    private void commitLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSubmission first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                commitGroup(collectGroup(first));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Completes every submission of the group, whatever happens: its callers wait without a timeout.
+     */
+    private void commitGroup(List<PendingSubmission> group) {
+        try {
+            commit(group);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error in group commit loop: {}", e.getMessage(), e);
+            for (PendingSubmission submission : group) {
+                submission.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * An interrupt cuts the window short; the submissions collected so far are still committed.
+     */
+    private List<PendingSubmission> collectGroup(PendingSubmission first) {
+        List<PendingSubmission> group = new ArrayList<>(maxGroupSize);
+        group.add(first);
+        long deadline = System.nanoTime() + windowNanos;
+        while (group.size() < maxGroupSize) {
+            queue.drainTo(group, maxGroupSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxGroupSize || remaining <= 0) {
+                break;
+            }
+            PendingSubmission next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+        return group;
+    }
+
+    private void commit(List<PendingSubmission> group) {
+        List<Map<String, Object>> forms = new ArrayList<>(group.size());
+        for (PendingSubmission submission : group) {
+            forms.add(submission.formData());
+        }
+
+        List<SubmissionResult> results;
+        try {
+            results = QuarkusTransaction.requiringNew().call(() -> delegate.executeBatch(forms));
+        } catch (RuntimeException e) {
+            if (group.size() == 1) {
+                group.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} submissions failed, retrying individually: {}", group.size(), e.getMessage());
+            for (PendingSubmission submission : group) {
+                commit(List.of(submission));
+            }
+            return;
+        }
+
+        // Only reached once the shared transaction is committed
+        for (int i = 0; i < group.size(); i++) {
+            SubmissionResult result = results.get(i);
+            if (result.isSuccess()) {
+                group.get(i).result().complete(result.id());
+            } else {
+                group.get(i).result().completeExceptionally(new InvalidFormException(result.error()));
+            }
+        }
+    }
+
+    private record PendingSubmission(Map<String, Object> formData, CompletableFuture<UUID> result) {}
+}
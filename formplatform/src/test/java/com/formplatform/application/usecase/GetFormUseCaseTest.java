@@ -0,0 +1,56 @@
+package com.formplatform.application.usecase;
+
+import com.formplatform.application.exception.FormNotFoundException;
+import com.formplatform.domain.model.Form;
+import com.formplatform.domain.port.output.FormRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GetFormUseCaseTest {
+
+    @Mock
+    private FormRepository formRepository;
+
+    private GetFormUseCase getFormUseCase;
+
+    @BeforeEach
+    void setUp() {
+        getFormUseCase = new GetFormUseCase(formRepository);
+    }
+
+    @Test
+    void shouldReturnExistingForm() {
+        UUID id = UUID.randomUUID();
+        Form form = new Form(id, Map.of("name", "John"), LocalDateTime.now());
+        when(formRepository.findById(id)).thenReturn(form);
+
+        Form result = getFormUseCase.execute(id);
+
+        assertSame(form, result);
+        verify(formRepository).findById(id);
+    }
+
+    @Test
+    void shouldThrowWhenFormDoesNotExist() {
+        UUID id = UUID.randomUUID();
+        when(formRepository.findById(id)).thenReturn(null);
+
+        FormNotFoundException exception = assertThrows(
+                FormNotFoundException.class,
+                () -> getFormUseCase.execute(id)
+        );
+
+        assertEquals("Form not found: " + id, exception.getMessage());
+    }
+}
@@ -2,8 +2,11 @@ package com.formplatform.application.usecase;
 
 import com.formplatform.application.exception.InvalidFormException;
 import com.formplatform.domain.model.Form;
+import com.formplatform.domain.model.RawFormData;
+import com.formplatform.domain.port.input.SubmitFormCommand.SubmissionResult;
 import com.formplatform.domain.port.output.EventPublisher;
 import com.formplatform.domain.port.output.FormRepository;
+import com.formplatform.domain.port.output.IdempotencyKeyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,12 +14,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,11 +36,14 @@ class SubmitFormUseCaseTest {
     @Mock
     private EventPublisher eventPublisher;
 
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
     private SubmitFormUseCase submitFormUseCase;
 
     @BeforeEach
     void setUp() {
-        submitFormUseCase = new SubmitFormUseCase(formRepository, eventPublisher);
+        submitFormUseCase = new SubmitFormUseCase(formRepository, eventPublisher, idempotencyKeyRepository);
     }
 
     @Test
@@ -137,4 +148,134 @@ class SubmitFormUseCaseTest {
         assertEquals(id2, result2);
         assertNotEquals(result1, result2);
     }
+
+    @Test
+    void shouldSubmitRawFormWithoutDecodingIt() {
+        byte[] json = "{\"name\":\"John\"}".getBytes(StandardCharsets.UTF_8);
+        UUID expectedId = UUID.randomUUID();
+        when(formRepository.save(any(Form.class))).thenAnswer(invocation -> {
+            Form form = invocation.getArgument(0);
+            form.setId(expectedId);
+            return form;
+        });
+
+        UUID result = submitFormUseCase.executeRaw(new RawFormData(json, 1));
+
+        ArgumentCaptor<Form> formCaptor = ArgumentCaptor.forClass(Form.class);
+        verify(formRepository).save(formCaptor.capture());
+        assertSame(json, formCaptor.getValue().getRawData().json());
+        assertNull(formCaptor.getValue().getData());
+        assertEquals(expectedId, result);
+        verify(eventPublisher).publishFormCreated(expectedId);
+    }
+
+    @Test
+    void shouldRejectRawFormWithoutFields() {
+        byte[] json = "{}".getBytes(StandardCharsets.UTF_8);
+
+        InvalidFormException exception = assertThrows(
+                InvalidFormException.class,
+                () -> submitFormUseCase.executeRaw(new RawFormData(json, 0))
+        );
+
+        assertEquals("Form data cannot be empty", exception.getMessage());
+        verifyNoInteractions(formRepository);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRegisterIdempotencyKeyForNewSubmission() {
+        Map<String, Object> formData = Map.of("name", "John");
+        UUID expectedId = UUID.randomUUID();
+        when(idempotencyKeyRepository.findFormId("key-1")).thenReturn(Optional.empty());
+        when(formRepository.save(any(Form.class))).thenReturn(new Form(expectedId, formData, null));
+
+        UUID result = submitFormUseCase.execute(formData, "key-1");
+
+        assertEquals(expectedId, result);
+        verify(idempotencyKeyRepository).save("key-1", expectedId);
+        verify(eventPublisher).publishFormCreated(expectedId);
+    }
+
+    @Test
+    void shouldReturnOriginalIdForRepeatedIdempotencyKey() {
+        UUID originalId = UUID.randomUUID();
+        when(idempotencyKeyRepository.findFormId("key-1")).thenReturn(Optional.of(originalId));
+
+        UUID result = submitFormUseCase.execute(Map.of("name", "John"), "key-1");
+
+        assertEquals(originalId, result);
+        verifyNoInteractions(formRepository);
+        verifyNoInteractions(eventPublisher);
+        verify(idempotencyKeyRepository, never()).save(any(), any());
+    }
+
+    @Test
+    void shouldRejectBlankIdempotencyKey() {
+        InvalidFormException exception = assertThrows(
+                InvalidFormException.class,
+                () -> submitFormUseCase.execute(Map.of("name", "John"), " ")
+        );
+
+        assertEquals("Idempotency key must be between 1 and 255 characters", exception.getMessage());
+        verifyNoInteractions(formRepository);
+        verifyNoInteractions(idempotencyKeyRepository);
+    }
+
+    @Test
+    void shouldSubmitBatchAndPublishAllEvents() {
+        List<Map<String, Object>> forms = List.of(Map.of("name", "A"), Map.of("name", "B"));
+        when(formRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        List<SubmissionResult> results = submitFormUseCase.executeBatch(forms);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        verify(formRepository).saveAll(anyList());
+        verify(eventPublisher).publishFormsCreated(List.of(results.get(0).id(), results.get(1).id()));
+        verify(formRepository, never()).save(any(Form.class));
+    }
+
+    @Test
+    void shouldReportInvalidElementsWithoutAbortingBatch() {
+        List<Map<String, Object>> forms = new ArrayList<>();
+        forms.add(Map.of("name", "A"));
+        forms.add(new HashMap<>());
+        forms.add(null);
+        forms.add(Map.of("name", "D"));
+        when(formRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+
+        List<SubmissionResult> results = submitFormUseCase.executeBatch(forms);
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("Form data cannot be empty", results.get(1).error());
+        assertEquals("Form data cannot be empty", results.get(2).error());
+        assertTrue(results.get(3).isSuccess());
+        verify(eventPublisher).publishFormsCreated(List.of(results.get(0).id(), results.get(3).id()));
+    }
+
+    @Test
+    void shouldNotTouchRepositoryWhenWholeBatchIsInvalid() {
+        List<Map<String, Object>> forms = List.of(new HashMap<>());
+
+        List<SubmissionResult> results = submitFormUseCase.executeBatch(forms);
+
+        assertFalse(results.get(0).isSuccess());
+        verifyNoInteractions(formRepository);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThrows(InvalidFormException.class, () -> submitFormUseCase.executeBatch(List.of()));
+        assertThrows(InvalidFormException.class, () -> submitFormUseCase.executeBatch(null));
+        verifyNoInteractions(formRepository);
+    }
+
+    private static List<Form> assignIds(List<Form> forms) {
+        forms.forEach(form -> form.setId(UUID.randomUUID()));
+        return forms;
+    }
 }
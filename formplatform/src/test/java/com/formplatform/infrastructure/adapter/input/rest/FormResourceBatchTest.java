@@ -0,0 +1,50 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@QuarkusTest
+class FormResourceBatchTest {
+
+    @Test
+    void shouldSubmitEveryFormOfTheBatch() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("[{\"name\":\"John\"},{\"name\":\"Jane\"}]")
+                .when()
+                .post("/api/forms/batch")
+                .then()
+                .statusCode(200)
+                .body("accepted", equalTo(2))
+                .body("rejected", equalTo(0))
+                .body("results.index", contains(0, 1))
+                .body("results.id", everyItem(notNullValue()));
+    }
+
+    @Test
+    void shouldRejectMalformedBatch() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("[{\"name\":\"John\"},")
+                .when()
+                .post("/api/forms/batch")
+                .then()
+                .statusCode(400)
+                .body("error", startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void shouldRejectBodyThatIsNotAnArray() {
+        given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\":\"John\"}")
+                .when()
+                .post("/api/forms/batch")
+                .then()
+                .statusCode(400);
+    }
+}
@@ -0,0 +1,98 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import com.formplatform.infrastructure.adapter.output.persistence.IdempotencyKeyEntity;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class FormResourceIdempotencyTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+    private static final int ROUNDS = 10;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    void shouldReturnSameFormForRetryWithSameKey() {
+        String key = UUID.randomUUID().toString();
+
+        String first = submit(key);
+        String second = submit(key);
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shouldCreateOneFormForConcurrentRequestsWithSameKey() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                String key = UUID.randomUUID().toString();
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<String>> responses = new ArrayList<>();
+                for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                    responses.add(executor.submit(() -> {
+                        start.await();
+                        return submit(key);
+                    }));
+                }
+                start.countDown();
+
+                Set<String> ids = new HashSet<>();
+                for (Future<String> response : responses) {
+                    ids.add(response.get());
+                }
+                assertEquals(1, ids.size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The losing side of the race, made deterministic: the key is registered behind the
+     * repository's back (as by another instance), so the request only learns about it when its own
+     * insert hits the primary key, and must roll back and answer with the registered form.
+     */
+    @Test
+    void shouldReturnRegisteredFormWhenKeyInsertCollides() {
+        String key = UUID.randomUUID().toString();
+        UUID registeredFormId = UUID.randomUUID();
+        QuarkusTransaction.requiringNew().run(() -> entityManager.persist(new IdempotencyKeyEntity(key, registeredFormId)));
+
+        String formId = submit(key);
+
+        assertEquals(registeredFormId.toString(), formId);
+    }
+
+    private static String submit(String idempotencyKey) {
+        return given()
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .body("{\"name\": \"John\"}")
+                .when()
+                .post("/api/forms")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+}
@@ -0,0 +1,76 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import io.quarkus.test.common.http.TestHTTPResource;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class ImportBodyLimitTest {
+
+    // Just above the default quarkus.http.limits.max-body-size of 10240K
+    private static final int OVERSIZED_BODY = 10240 * 1024 + 1;
+
+    @TestHTTPResource("/")
+    URL baseUrl;
+
+    @Test
+    void shouldRejectOversizedFormSubmission() throws IOException {
+        assertEquals("HTTP/1.1 413 Request Entity Too Large", statusLine("/api/forms", "application/json", OVERSIZED_BODY));
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() throws IOException {
+        assertEquals("HTTP/1.1 413 Request Entity Too Large", statusLine("/api/forms/batch", "application/json", OVERSIZED_BODY));
+    }
+
+    @Test
+    void shouldRejectImportAboveImportLimit() throws IOException {
+        assertEquals("HTTP/1.1 413 Request Entity Too Large", statusLine("/api/forms/import", "application/x-ndjson", 9L << 30));
+    }
+
+    @Test
+    void shouldAcceptImportAboveGlobalLimit() {
+        // Blank lines are skipped, so the body is large without committing many forms
+        given()
+                .contentType("application/x-ndjson")
+                .body(oversizedBody("{\"name\":\"John\"}\n", '\n'))
+                .when().post("/api/forms/import")
+                .then()
+                .statusCode(200)
+                .body(startsWith("{\"line\":1,\"id\":"), containsString("\n"));
+    }
+
+    // The 413 is sent as soon as the headers arrive and the connection is closed, so only the headers are written
+    private String statusLine(String path, String contentType, long contentLength) throws IOException {
+        try (Socket socket = new Socket(baseUrl.getHost(), baseUrl.getPort())) {
+            String request = "POST " + path + " HTTP/1.1\r\n"
+                    + "Host: " + baseUrl.getHost() + "\r\n"
+                    + "Content-Type: " + contentType + "\r\n"
+                    + "Content-Length: " + contentLength + "\r\n\r\n";
+            socket.getOutputStream().write(request.getBytes(StandardCharsets.US_ASCII));
+            socket.getOutputStream().flush();
+            return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+        }
+    }
+
+    private static byte[] oversizedBody(String json, char padding) {
+        byte[] body = new byte[OVERSIZED_BODY];
+        Arrays.fill(body, (byte) padding);
+        byte[] prefix = json.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        return body;
+    }
+}
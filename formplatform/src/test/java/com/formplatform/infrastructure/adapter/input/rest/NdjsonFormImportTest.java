@@ -0,0 +1,169 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formplatform.domain.port.input.SubmitFormCommand;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Commits go through QuarkusTransaction, hence the application around an otherwise stubbed import
+@QuarkusTest
+class NdjsonFormImportTest {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_LINE_BYTES = 64;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    void shouldReportMalformedLineAndImportTheOthers() throws IOException {
+        SubmitFormCommand submitFormCommand = succeedingCommand();
+
+        List<JsonNode> results = runImport(submitFormCommand,
+                "{\"name\":\"John\"}\n{\"name\":\n[1,2]\n{\"name\":\"Jane\"}\n");
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).has("id"));
+        assertTrue(results.get(1).get("error").asText().startsWith("Malformed JSON"));
+        assertEquals("Line is not a JSON object", results.get(2).get("error").asText());
+        assertTrue(results.get(3).has("id"));
+        assertEquals(List.of(1L, 2L, 3L, 4L), lineNumbers(results));
+        verify(submitFormCommand).executeBatch(List.of(Map.of("name", "John"), Map.of("name", "Jane")));
+    }
+
+    @Test
+    void shouldRejectTrailingContentAndNonObjectValues() throws IOException {
+        SubmitFormCommand submitFormCommand = succeedingCommand();
+
+        List<JsonNode> results = runImport(submitFormCommand, "{}{}\n{\"a\":1} x\nnull\n{\"a\":2}  \n");
+
+        assertEquals("Unexpected content after JSON object", results.get(0).get("error").asText());
+        assertTrue(results.get(1).get("error").asText().startsWith("Malformed JSON"));
+        assertEquals("Line is not a JSON object", results.get(2).get("error").asText());
+        assertTrue(results.get(3).has("id"));
+        verify(submitFormCommand).executeBatch(List.of(Map.of("a", 2)));
+    }
+
+    @Test
+    void shouldReportOversizedLineAndImportTheNextOne() throws IOException {
+        SubmitFormCommand submitFormCommand = succeedingCommand();
+        String oversized = "{\"name\":\"" + "x".repeat(MAX_LINE_BYTES) + "\"}";
+
+        List<JsonNode> results = runImport(submitFormCommand, "{\"a\":1}\n" + oversized + "\n{\"a\":2}\n");
+
+        assertEquals(List.of(1L, 2L, 3L), lineNumbers(results));
+        assertEquals("Line exceeds the maximum size of " + MAX_LINE_BYTES + " bytes",
+                results.get(1).get("error").asText());
+        verify(submitFormCommand).executeBatch(List.of(Map.of("a", 1), Map.of("a", 2)));
+    }
+
+    @Test
+    void shouldNotBufferBodyWithoutNewlines() throws IOException {
+        SubmitFormCommand submitFormCommand = succeedingCommand();
+        // Spans several reads of the underlying stream
+        String body = "[" + "1,".repeat(100_000) + "1]";
+
+        List<JsonNode> results = runImport(submitFormCommand, body);
+
+        assertEquals(1, results.size());
+        assertEquals(1L, results.get(0).get("line").asLong());
+        assertTrue(results.get(0).get("error").asText().startsWith("Line exceeds the maximum size"));
+        verifyNoInteractions(submitFormCommand);
+    }
+
+    @Test
+    void shouldSkipBlankLinesAndKeepLineNumbers() throws IOException {
+        SubmitFormCommand submitFormCommand = succeedingCommand();
+
+        List<JsonNode> results = runImport(submitFormCommand, "\n{\"a\":1}\n   \n\r\n{\"a\":2}");
+
+        assertEquals(List.of(2L, 5L), lineNumbers(results));
+        assertTrue(results.stream().allMatch(result -> result.has("id")));
+    }
+
+    @Test
+    void shouldWriteNothingForBlankBody() throws IOException {
+        SubmitFormCommand submitFormCommand = succeedingCommand();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        newImport(submitFormCommand, "\n  \n").write(output);
+
+        assertEquals(0, output.size());
+        verifyNoInteractions(submitFormCommand);
+    }
+
+    @Test
+    void shouldStopAfterFailedChunk() throws IOException {
+        SubmitFormCommand submitFormCommand = mock(SubmitFormCommand.class);
+        when(submitFormCommand.executeBatch(anyList()))
+                .thenAnswer(invocation -> successes(invocation.getArgument(0)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < CHUNK_SIZE * 3; i++) {
+            body.append("{\"n\":").append(i).append("}\n");
+        }
+
+        List<JsonNode> results = runImport(submitFormCommand, body.toString());
+
+        // First chunk committed, second reported as aborted, third never read
+        assertEquals(CHUNK_SIZE * 2, results.size());
+        assertTrue(results.subList(0, CHUNK_SIZE).stream().allMatch(result -> result.has("id")));
+        assertTrue(results.subList(CHUNK_SIZE, CHUNK_SIZE * 2).stream()
+                .allMatch(result -> result.get("error").asText().equals("Import aborted: database unavailable")));
+        assertEquals(CHUNK_SIZE * 2L, results.get(CHUNK_SIZE * 2 - 1).get("line").asLong());
+        verify(submitFormCommand, times(2)).executeBatch(anyList());
+    }
+
+    private List<JsonNode> runImport(SubmitFormCommand submitFormCommand, String body) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        newImport(submitFormCommand, body).write(output);
+
+        String ndjson = output.toString(StandardCharsets.UTF_8);
+        assertTrue(ndjson.endsWith("\n"));
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+
+    private NdjsonFormImport newImport(SubmitFormCommand submitFormCommand, String body) {
+        return new NdjsonFormImport(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), submitFormCommand, objectMapper,
+                MAX_LINE_BYTES);
+    }
+
+    private static SubmitFormCommand succeedingCommand() {
+        SubmitFormCommand submitFormCommand = mock(SubmitFormCommand.class);
+        when(submitFormCommand.executeBatch(anyList()))
+                .thenAnswer(invocation -> successes(invocation.getArgument(0)));
+        return submitFormCommand;
+    }
+
+    private static List<SubmitFormCommand.SubmissionResult> successes(List<?> forms) {
+        List<SubmitFormCommand.SubmissionResult> results = new ArrayList<>();
+        for (int i = 0; i < forms.size(); i++) {
+            results.add(SubmitFormCommand.SubmissionResult.success(UUID.randomUUID()));
+        }
+        return results;
+    }
+
+    private static List<Long> lineNumbers(List<JsonNode> results) {
+        return results.stream().map(result -> result.get("line").asLong()).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.formplatform.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.formplatform.application.exception.InvalidFormException;
+import com.formplatform.domain.model.RawFormData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RawJsonFormScannerTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    void shouldCountTopLevelFieldsAndKeepOriginalBytes() throws IOException {
+        byte[] body = bytes("{\"name\":\"John\", \"age\": 30,\"active\":true,\"note\":null}");
+
+        RawFormData formData = RawJsonFormScanner.scan(jsonFactory, body);
+
+        assertEquals(4, formData.topLevelFieldCount());
+        assertSame(body, formData.json());
+    }
+
+    @Test
+    void shouldNotCountFieldsOfNestedValues() throws IOException {
+        RawFormData formData = scan("{\"address\":{\"city\":\"Madrid\",\"geo\":{\"lat\":40.4,\"lon\":-3.7}},"
+                + "\"tags\":[\"a\",{\"b\":[1,2,{\"c\":{}}]}],\"empty\":{}}");
+
+        assertEquals(3, formData.topLevelFieldCount());
+    }
+
+    @Test
+    void shouldRejectMalformedNestedValues() {
+        assertThrows(JsonProcessingException.class, () -> scan("{\"address\":{\"city\":}}"));
+        assertThrows(JsonProcessingException.class, () -> scan("{\"tags\":[1,2}"));
+        assertThrows(JsonProcessingException.class, () -> scan("{\"address\":{\"city\":\"Madrid\""));
+    }
+
+    @Test
+    void shouldAcceptEscapesInNamesAndValues() throws IOException {
+        RawFormData formData = scan("{\"quote\\\"d\":\"line\\nbreak \\\"quoted\\\" back\\\\slash \\/ \\t\","
+                + "\"\\u0041\":\"\\u00e9\\ud83d\\ude00\"}");
+
+        assertEquals(2, formData.topLevelFieldCount());
+    }
+
+    @Test
+    void shouldRejectInvalidEscapes() {
+        assertThrows(JsonProcessingException.class, () -> scan("{\"name\":\"\\x41\"}"));
+        assertThrows(JsonProcessingException.class, () -> scan("{\"name\":\"\\u00g1\"}"));
+    }
+
+    @Test
+    void shouldAcceptUnicodeContent() throws IOException {
+        RawFormData formData = scan("{\"nombre\":\"José Núñez\",\"城市\":\"北京\",\"emoji\":\"😀\"}");
+
+        assertEquals(3, formData.topLevelFieldCount());
+    }
+
+    @Test
+    void shouldRejectTrailingContent() {
+        InvalidFormException trailingObject = assertThrows(InvalidFormException.class, () -> scan("{\"a\":1}{\"b\":2}"));
+        assertEquals("Unexpected content after JSON object", trailingObject.getMessage());
+        assertThrows(InvalidFormException.class, () -> scan("{\"a\":1} 42"));
+        assertThrows(JsonProcessingException.class, () -> scan("{\"a\":1} garbage"));
+    }
+
+    @Test
+    void shouldAcceptTrailingWhitespace() throws IOException {
+        assertEquals(1, scan("  {\"a\":1}\r\n\t ").topLevelFieldCount());
+    }
+
+    @Test
+    void shouldRejectNonObjectRoots() {
+        for (String body : new String[] {"[{\"a\":1}]", "\"text\"", "42", "true", "null"}) {
+            InvalidFormException failure = assertThrows(InvalidFormException.class, () -> scan(body), body);
+            assertEquals("Form data must be a JSON object", failure.getMessage());
+        }
+    }
+
+    @Test
+    void shouldReportEmptyBodyAsEmptyForm() throws IOException {
+        assertTrue(RawJsonFormScanner.scan(jsonFactory, null).isEmpty());
+        assertTrue(scan("").isEmpty());
+        assertTrue(scan("  \n ").isEmpty());
+        assertTrue(scan("{}").isEmpty());
+    }
+
+    private RawFormData scan(String body) throws IOException {
+        return RawJsonFormScanner.scan(jsonFactory, bytes(body));
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,97 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBatchSizeTest {
+
+    private static final long TARGET_NANOS = 100_000_000;
+    private static final long FAST_NANOS = TARGET_NANOS / 2;
+    private static final long SLOW_NANOS = TARGET_NANOS + 1;
+
+    @Test
+    void shouldStartAtMinimum() {
+        assertEquals(10, new AdaptiveBatchSize(10, 1000, TARGET_NANOS).current());
+    }
+
+    @Test
+    void shouldDoubleAfterFastFullBatchUpToMaximum() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 50, TARGET_NANOS);
+
+        assertEquals(20, fullBatch(batchSize, FAST_NANOS));
+        assertEquals(40, fullBatch(batchSize, FAST_NANOS));
+        assertEquals(50, fullBatch(batchSize, FAST_NANOS));
+        assertEquals(50, fullBatch(batchSize, FAST_NANOS));
+    }
+
+    @Test
+    void shouldHalveAfterSlowBatchDownToMinimum() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 80, TARGET_NANOS);
+        growTo(batchSize, 80);
+
+        assertEquals(40, fullBatch(batchSize, SLOW_NANOS));
+        assertEquals(20, fullBatch(batchSize, SLOW_NANOS));
+        assertEquals(10, fullBatch(batchSize, SLOW_NANOS));
+        assertEquals(10, fullBatch(batchSize, SLOW_NANOS));
+    }
+
+    @Test
+    void shouldNotGoBelowMinimumForOddSizes() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(7, 100, TARGET_NANOS);
+
+        assertEquals(7, batchSize.record(7, 7, 7, SLOW_NANOS));
+        assertEquals(7, batchSize.record(13, 13, 13, SLOW_NANOS));
+    }
+
+    @Test
+    void shouldHalveSlowBatchEvenWhenPartial() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 80, TARGET_NANOS);
+        growTo(batchSize, 80);
+
+        assertEquals(40, batchSize.record(80, 3, 3, SLOW_NANOS));
+    }
+
+    @Test
+    void shouldKeepSizeAfterPartialBatch() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 80, TARGET_NANOS);
+
+        assertEquals(10, batchSize.record(10, 9, 9, FAST_NANOS));
+    }
+
+    @Test
+    void shouldKeepSizeAfterFailedPublishes() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 80, TARGET_NANOS);
+
+        assertEquals(10, batchSize.record(10, 10, 9, FAST_NANOS));
+    }
+
+    @Test
+    void shouldKeepSizeBetweenHalfAndFullTarget() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 80, TARGET_NANOS);
+
+        assertEquals(10, fullBatch(batchSize, FAST_NANOS + 1));
+        assertEquals(10, fullBatch(batchSize, TARGET_NANOS));
+    }
+
+    @Test
+    void shouldNotShrinkWhenAnotherWorkerReportsFastSmallerBatch() {
+        AdaptiveBatchSize batchSize = new AdaptiveBatchSize(10, 160, TARGET_NANOS);
+        growTo(batchSize, 80);
+
+        // A worker still running with a batch of 20 reports after the size reached 80
+        assertEquals(80, batchSize.record(20, 20, 20, FAST_NANOS));
+    }
+
+    private static int fullBatch(AdaptiveBatchSize batchSize, long elapsedNanos) {
+        int size = batchSize.current();
+        return batchSize.record(size, size, size, elapsedNanos);
+    }
+
+    private static void growTo(AdaptiveBatchSize batchSize, int size) {
+        while (batchSize.current() < size) {
+            fullBatch(batchSize, FAST_NANOS);
+        }
+        assertEquals(size, batchSize.current());
+    }
+}
@@ -0,0 +1,152 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxCircuitBreaker.Permit;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxCircuitBreakerTest {
+
+    private static final int THRESHOLD = 3;
+    private static final Duration BACKOFF = Duration.ofMillis(50);
+    private static final Duration MAX_BACKOFF = Duration.ofMillis(150);
+    private static final Exception FAILURE = new IllegalStateException("broker unreachable");
+
+    private final OutboxCircuitBreaker breaker = new OutboxCircuitBreaker("form-created", THRESHOLD, BACKOFF, MAX_BACKOFF);
+
+    @Test
+    void shouldPublishBatchesWhileClosed() {
+        assertEquals(Permit.BATCH, breaker.acquire());
+        assertTrue(breaker.isClosed());
+        assertEquals(-1, breaker.nanosUntilProbe());
+    }
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        fail(THRESHOLD - 1);
+        assertTrue(breaker.isClosed());
+
+        fail(1);
+
+        assertFalse(breaker.isClosed());
+        assertEquals(Permit.REJECTED, breaker.acquire());
+        long untilProbe = breaker.nanosUntilProbe();
+        assertTrue(untilProbe > 0 && untilProbe <= BACKOFF.toNanos(), "until probe " + untilProbe);
+    }
+
+    @Test
+    void shouldNotOpenWhenFailuresAreNotConsecutive() {
+        fail(THRESHOLD - 1);
+        breaker.onSuccess();
+        fail(THRESHOLD - 1);
+
+        assertTrue(breaker.isClosed());
+    }
+
+    @Test
+    void shouldGrantSingleProbeAfterBackoff() throws InterruptedException {
+        fail(THRESHOLD);
+
+        awaitProbe();
+
+        assertEquals(Permit.PROBE, breaker.acquire());
+        // Other workers of the channel wait for the probe to finish
+        assertEquals(Permit.REJECTED, breaker.acquire());
+        assertEquals(-1, breaker.nanosUntilProbe());
+    }
+
+    @Test
+    void shouldCloseWhenProbeSucceeds() throws InterruptedException {
+        fail(THRESHOLD);
+        awaitProbe();
+        assertEquals(Permit.PROBE, breaker.acquire());
+
+        breaker.onSuccess();
+
+        assertTrue(breaker.isClosed());
+        assertEquals(Permit.BATCH, breaker.acquire());
+    }
+
+    @Test
+    void shouldDoubleBackoffWhenProbeFailsUpToMaximum() throws InterruptedException {
+        fail(THRESHOLD);
+
+        failProbe();
+        assertBackoff(BACKOFF.multipliedBy(2));
+        failProbe();
+        assertBackoff(MAX_BACKOFF);
+        failProbe();
+        assertBackoff(MAX_BACKOFF);
+    }
+
+    @Test
+    void shouldResetBackoffOnceClosed() throws InterruptedException {
+        fail(THRESHOLD);
+        failProbe();
+        awaitProbe();
+        assertEquals(Permit.PROBE, breaker.acquire());
+        breaker.onSuccess();
+
+        fail(THRESHOLD);
+
+        assertBackoff(BACKOFF);
+    }
+
+    @Test
+    void shouldWaitForNextProbeWithSameBackoffWhenProbeIsSkipped() throws InterruptedException {
+        fail(THRESHOLD);
+        awaitProbe();
+        assertEquals(Permit.PROBE, breaker.acquire());
+
+        breaker.probeSkipped();
+
+        assertFalse(breaker.isClosed());
+        assertEquals(Permit.REJECTED, breaker.acquire());
+        assertBackoff(BACKOFF);
+    }
+
+    @Test
+    void shouldIgnoreFailuresReportedWhileOpen() {
+        fail(THRESHOLD);
+        long untilProbe = breaker.nanosUntilProbe();
+
+        // Late failures of batches published before the circuit opened
+        fail(THRESHOLD);
+
+        assertTrue(breaker.nanosUntilProbe() <= untilProbe);
+        assertEquals(Permit.REJECTED, breaker.acquire());
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.onFailure(FAILURE);
+        }
+    }
+
+    private void failProbe() throws InterruptedException {
+        awaitProbe();
+        assertEquals(Permit.PROBE, breaker.acquire());
+        breaker.onFailure(FAILURE);
+    }
+
+    private void awaitProbe() throws InterruptedException {
+        long untilProbe = breaker.nanosUntilProbe();
+        assertTrue(untilProbe >= 0, "circuit is not waiting for a probe");
+        TimeUnit.NANOSECONDS.sleep(untilProbe);
+        while (breaker.nanosUntilProbe() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * The next probe is due within the given backoff, and later than half of it.
+     */
+    private void assertBackoff(Duration backoff) {
+        long untilProbe = breaker.nanosUntilProbe();
+        assertTrue(untilProbe <= backoff.toNanos() && untilProbe > backoff.toNanos() / 2,
+                "until probe " + untilProbe + " ns, expected backoff " + backoff);
+    }
+}
@@ -0,0 +1,57 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxPayloadEncoderTest {
+
+    private final OutboxPayloadEncoder encoder = new OutboxPayloadEncoder();
+
+    @Test
+    void shouldRenderSameBytesAsFormerStringFormatPayload() {
+        for (int i = 0; i < 1000; i++) {
+            UUID formId = UUID.randomUUID();
+            // Payload written to the outbox before rows were stored compact
+            String legacy = String.format("{\"formId\": \"%s\", \"event\": \"FORM_CREATED\"}", formId.toString());
+
+            String payload = encoder.encode("form-created", formId);
+
+            assertArrayEquals(legacy.getBytes(StandardCharsets.UTF_8), payload.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldRenderSameBytesForRepeatedChannel() {
+        UUID formId = UUID.fromString("0190f3c1-2b4e-7a10-8000-00000000002a");
+
+        String first = encoder.encode("form-created", formId);
+        String second = encoder.encode("form-created", formId);
+
+        assertEquals("{\"formId\": \"0190f3c1-2b4e-7a10-8000-00000000002a\", \"event\": \"FORM_CREATED\"}", first);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void shouldNameEventAfterChannel() {
+        UUID formId = UUID.randomUUID();
+
+        assertEquals("{\"formId\": \"" + formId + "\", \"event\": \"FORM_UPDATED_V2\"}",
+                encoder.encode("form-updated-v2", formId));
+    }
+
+    @Test
+    void shouldRenderValidJson() throws Exception {
+        UUID formId = UUID.randomUUID();
+
+        JsonNode payload = new ObjectMapper().readTree(encoder.encode("form-created", formId));
+
+        assertEquals(formId.toString(), payload.get("formId").asText());
+        assertEquals("FORM_CREATED", payload.get("event").asText());
+    }
+}
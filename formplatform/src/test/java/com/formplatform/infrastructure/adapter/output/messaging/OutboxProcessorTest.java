@@ -0,0 +1,115 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import com.formplatform.infrastructure.adapter.output.messaging.OutboxChannelRegistry.RegisteredChannel;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository.PendingOutboxEvent;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Batch outcomes are written through QuarkusTransaction, hence the application around a mocked repository
+@QuarkusTest
+class OutboxProcessorTest {
+
+    private static final String CHANNEL = OutboxChannel.FORM_CREATED;
+    private static final String CLAIM_TOKEN = "claim-1";
+    private static final Duration BACKOFF = Duration.ofMillis(20);
+
+    private OutboxRepository outboxRepository;
+    private OutboxRetryScheduler retryScheduler;
+    private OutboxChannel outboxChannel;
+    private OutboxCircuitBreaker circuitBreaker;
+    private RegisteredChannel channel;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        retryScheduler = mock(OutboxRetryScheduler.class);
+        outboxChannel = mock(OutboxChannel.class);
+        when(outboxChannel.name()).thenReturn(CHANNEL);
+        circuitBreaker = new OutboxCircuitBreaker(CHANNEL, 1, BACKOFF, BACKOFF);
+        channel = new RegisteredChannel(outboxChannel, 1, 0, OutboxRateLimiter.UNLIMITED, circuitBreaker);
+    }
+
+    @Test
+    void shouldAllowAnotherProbeWhenClaimFailsDuringProbe() throws InterruptedException {
+        OutboxProcessor processor = processor(true);
+        circuitBreaker.onFailure(new IllegalStateException("broker unreachable"));
+        awaitProbe();
+        when(outboxRepository.claimPending(CHANNEL, 1)).thenThrow(new IllegalStateException("lock timeout"));
+
+        assertThrows(IllegalStateException.class, () -> processor.processOutbox(channel));
+
+        // Back to waiting for a probe instead of stuck half open
+        assertTrue(circuitBreaker.nanosUntilProbe() >= 0);
+        assertEquals(OutboxCircuitBreaker.Permit.REJECTED, circuitBreaker.acquire());
+
+        awaitProbe();
+        reset(outboxRepository);
+        PendingOutboxEvent event = event(1);
+        when(outboxRepository.claimPending(CHANNEL, 1)).thenReturn(List.of(event));
+        when(outboxChannel.send(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+
+        processor.processOutbox(channel);
+
+        assertTrue(circuitBreaker.isClosed());
+        verify(outboxRepository).markSentAll(List.of(1L), CLAIM_TOKEN);
+    }
+
+    @Test
+    void shouldMarkOnlyConfirmedEventsSentAndRetryTheOthers() {
+        // Enough headroom that the failures of the batch do not open the circuit
+        circuitBreaker = new OutboxCircuitBreaker(CHANNEL, 3, BACKOFF, BACKOFF);
+        channel = new RegisteredChannel(outboxChannel, 1, 0, OutboxRateLimiter.UNLIMITED, circuitBreaker);
+        List<PendingOutboxEvent> events = List.of(event(1), event(2), event(3), event(4));
+        when(outboxRepository.claimPending(eq(CHANNEL), anyInt())).thenReturn(events);
+        when(outboxChannel.send(anyString())).thenReturn(
+                CompletableFuture.completedFuture(null),
+                CompletableFuture.failedFuture(new IllegalStateException("nacked")),
+                CompletableFuture.completedFuture(null));
+        // The fourth publish fails before a confirm is even pending
+        doThrow(new IllegalStateException("channel closed")).when(outboxChannel).send(payloadOf(events.get(3)));
+        List<OutboxRepository.DelayedOutboxEvent> delayed = List.of(new OutboxRepository.DelayedOutboxEvent(2L, CHANNEL, 100));
+        when(outboxRepository.scheduleRetryAll(anyList(), eq(CLAIM_TOKEN), anyInt())).thenReturn(delayed);
+
+        processor(true).processOutbox(channel);
+
+        verify(outboxRepository).markSentAll(List.of(1L, 3L), CLAIM_TOKEN);
+        verify(outboxRepository).scheduleRetryAll(eq(List.of(2L, 4L)), eq(CLAIM_TOKEN), anyInt());
+        verify(outboxRepository, never()).releaseClaims(anyList(), anyString());
+        verify(retryScheduler).schedule(delayed);
+        assertTrue(circuitBreaker.isClosed());
+    }
+
+    private OutboxProcessor processor(boolean publishConfirms) {
+        return new OutboxProcessor(outboxRepository, new OutboxPayloadEncoder(), retryScheduler, publishConfirms,
+                128, Duration.ofSeconds(5), 16, 1024, Duration.ofSeconds(2));
+    }
+
+    private void awaitProbe() throws InterruptedException {
+        long untilProbe = circuitBreaker.nanosUntilProbe();
+        assertTrue(untilProbe >= 0, "circuit is not waiting for a probe");
+        TimeUnit.NANOSECONDS.sleep(untilProbe);
+        while (circuitBreaker.nanosUntilProbe() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static String payloadOf(PendingOutboxEvent event) {
+        return new OutboxPayloadEncoder().encode(event.channel(), event.formId());
+    }
+
+    private static PendingOutboxEvent event(long id) {
+        return new PendingOutboxEvent(id, CHANNEL, null, UUID.randomUUID(), 0, CLAIM_TOKEN);
+    }
+}
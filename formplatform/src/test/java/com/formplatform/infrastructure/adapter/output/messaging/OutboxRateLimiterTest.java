@@ -0,0 +1,87 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboxRateLimiterTest {
+
+    @Test
+    void shouldPaceEventsToConfiguredRate() throws Exception {
+        OutboxRateLimiter rateLimiter = new OutboxRateLimiter(100);
+
+        long elapsedMillis = timeMillis(() -> acquire(rateLimiter, 21));
+
+        // The first event goes immediately, each of the other 20 waits 10 ms
+        assertTrue(elapsedMillis >= 195, "elapsed " + elapsedMillis + " ms");
+        assertTrue(elapsedMillis < 2000, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void shouldHoldRateAcrossWorkersOfTheChannel() throws Exception {
+        OutboxRateLimiter rateLimiter = new OutboxRateLimiter(200);
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            long elapsedMillis = timeMillis(() -> {
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    results.add(workers.submit(() -> {
+                        acquire(rateLimiter, 10);
+                        return null;
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get(10, TimeUnit.SECONDS);
+                }
+            });
+
+            // 40 events at 5 ms each, not 10 events per worker
+            assertTrue(elapsedMillis >= 190, "elapsed " + elapsedMillis + " ms");
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldNotSaveUpPermitsWhileIdle() throws Exception {
+        OutboxRateLimiter rateLimiter = new OutboxRateLimiter(20);
+        rateLimiter.acquire();
+        Thread.sleep(300);
+
+        long elapsedMillis = timeMillis(() -> acquire(rateLimiter, 3));
+
+        // An idle channel gets one immediate event, not a burst of the 6 it could have sent
+        assertTrue(elapsedMillis >= 95, "elapsed " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void shouldNotWaitWithoutLimit() throws Exception {
+        long elapsedMillis = timeMillis(() -> acquire(OutboxRateLimiter.UNLIMITED, 100_000));
+
+        assertTrue(elapsedMillis < 1000, "elapsed " + elapsedMillis + " ms");
+    }
+
+    private static void acquire(OutboxRateLimiter rateLimiter, int permits) throws InterruptedException {
+        for (int i = 0; i < permits; i++) {
+            rateLimiter.acquire();
+        }
+    }
+
+    private static long timeMillis(Timed timed) throws Exception {
+        long start = System.nanoTime();
+        timed.run();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @FunctionalInterface
+    private interface Timed {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,56 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository;
+import com.formplatform.infrastructure.adapter.output.persistence.OutboxRepository.DelayedOutboxEvent;
+import jakarta.enterprise.event.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRetrySchedulerTest {
+
+    private static final int CAPACITY = 3;
+
+    private OutboxRepository outboxRepository;
+    private OutboxRetryScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboxRepository = mock(OutboxRepository.class);
+        scheduler = new OutboxRetryScheduler(outboxRepository, mock(OutboxChannelRegistry.class),
+                mock(Event.class), Duration.ofMillis(100), CAPACITY);
+    }
+
+    @Test
+    void shouldTrackScheduledRetries() {
+        scheduler.schedule(delayed(1, 2));
+
+        assertEquals(2, scheduler.trackedRetries());
+    }
+
+    @Test
+    void shouldLeaveRetriesBeyondCapacityToTheSweep() {
+        scheduler.schedule(delayed(1, 2));
+        scheduler.schedule(delayed(3, 4, 5));
+
+        assertEquals(CAPACITY, scheduler.trackedRetries());
+        // Dropped retries stay delayed in the table: nothing is written for them
+        verifyNoInteractions(outboxRepository);
+
+        scheduler.schedule(delayed(6));
+        assertEquals(CAPACITY, scheduler.trackedRetries());
+    }
+
+    private static List<DelayedOutboxEvent> delayed(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> new DelayedOutboxEvent(id, "form-created", 60_000))
+                .toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.formplatform.infrastructure.adapter.output.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTimerWheelTest {
+
+    private static final long TICK = 100;
+    private static final int WHEEL_SIZE = 8;
+    private static final String CHANNEL = "form-created";
+
+    private final RetryTimerWheel wheel = new RetryTimerWheel(TICK, WHEEL_SIZE, 0);
+
+    @Test
+    void shouldReleaseEntryWhenItsTickIsReached() {
+        wheel.add(1, CHANNEL, 3 * TICK, 0);
+
+        assertTrue(wheel.advance(3 * TICK - 1).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(3 * TICK)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldRoundDeadlinesUpToNextTick() {
+        wheel.add(1, CHANNEL, TICK + TICK / 2, 0);
+
+        assertTrue(wheel.advance(TICK).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(2 * TICK)));
+    }
+
+    @Test
+    void shouldWrapAroundTheEndOfTheWheel() {
+        wheel.advance(6 * TICK);
+        // Tick 11 lands in bucket 3, behind the current position
+        wheel.add(1, CHANNEL, 5 * TICK, 6 * TICK);
+
+        assertTrue(wheel.advance(7 * TICK).isEmpty());
+        assertTrue(wheel.advance(10 * TICK).isEmpty());
+        assertEquals(List.of(1L), ids(wheel.advance(11 * TICK)));
+    }
+
+    @Test
+    void shouldKeepEntriesDueInLaterTurnsInTheirBucket() {
+        // Ticks 4, 12 and 20 share bucket 4
+        wheel.add(1, CHANNEL, 4 * TICK, 0);
+        wheel.add(2, CHANNEL, 12 * TICK, 0);
+        wheel.add(3, CHANNEL, 20 * TICK, 0);
+
+        assertEquals(List.of(1L), ids(wheel.advance(4 * TICK)));
+        assertEquals(List.of(2L), ids(wheel.advance(12 * TICK)));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(3L), ids(wheel.advance(20 * TICK)));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void shouldReleaseEverythingDueAfterStallLongerThanATurn() {
+        for (long tick = 1; tick <= WHEEL_SIZE; tick++) {
+            wheel.add(tick, CHANNEL, tick * TICK, 0);
+        }
+        wheel.add(99, CHANNEL, 60 * TICK, 0);
+
+        List<RetryTimerWheel.Entry> due = wheel.advance(50 * TICK);
+
+        assertEquals(WHEEL_SIZE, due.size());
+        assertFalse(ids(due).contains(99L));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(99L), ids(wheel.advance(60 * TICK)));
+    }
+
+    @Test
+    void shouldReleasePastDeadlinesOnNextAdvance() {
+        wheel.advance(5 * TICK);
+
+        // Already due when added, and added with a clock reading older than the wheel position
+        wheel.add(1, CHANNEL, 0, 5 * TICK);
+        wheel.add(2, CHANNEL, 0, 0);
+
+        assertEquals(List.of(1L, 2L), ids(wheel.advance(6 * TICK)));
+    }
+
+    @Test
+    void shouldNotReleaseAnythingBeforeNextTick() {
+        wheel.add(1, CHANNEL, 0, 0);
+        wheel.advance(2 * TICK);
+        wheel.add(2, CHANNEL, TICK, 2 * TICK);
+
+        assertTrue(wheel.advance(2 * TICK + TICK / 2).isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void shouldKeepChannelOfEachEntry() {
+        wheel.add(1, "a", TICK, 0);
+        wheel.add(2, "b", TICK, 0);
+
+        assertEquals(List.of(new RetryTimerWheel.Entry(1, "a", 1), new RetryTimerWheel.Entry(2, "b", 1)),
+                wheel.advance(TICK));
+    }
+
+    @Test
+    void shouldRequirePowerOfTwoSize() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryTimerWheel(TICK, 12, 0));
+    }
+
+    private static List<Long> ids(List<RetryTimerWheel.Entry> entries) {
+        return entries.stream().map(RetryTimerWheel.Entry::id).sorted().toList();
+    }
+}
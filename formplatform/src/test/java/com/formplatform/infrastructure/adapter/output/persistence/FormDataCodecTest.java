@@ -0,0 +1,130 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormDataCodecTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile", "smile-deflate"})
+    void shouldRoundTripFormData(String format) throws IOException {
+        FormDataCodec codec = codec(format);
+        Map<String, Object> data = sampleData();
+        FormEntity entity = new FormEntity();
+
+        codec.write(entity, data);
+
+        assertEquals(format, entity.getFormDataFormat());
+        assertEquals(data, codec.read(entity));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"json", "smile", "smile-deflate"})
+    void shouldRoundTripRawFormData(String format) throws IOException {
+        FormDataCodec codec = codec(format);
+        Map<String, Object> data = sampleData();
+        FormEntity entity = new FormEntity();
+
+        codec.writeRaw(entity, OBJECT_MAPPER.writeValueAsBytes(data));
+
+        assertEquals(format, entity.getFormDataFormat());
+        assertEquals(data, codec.read(entity));
+    }
+
+    @Test
+    void shouldStoreJsonAsText() throws IOException {
+        FormEntity entity = new FormEntity();
+        entity.setFormDataBinary(new byte[] {1});
+
+        codec("json").write(entity, Map.of("name", "John"));
+
+        assertEquals("{\"name\":\"John\"}", entity.getFormData());
+        assertNull(entity.getFormDataBinary());
+    }
+
+    @Test
+    void shouldStoreRawJsonBytesAsReceived() throws IOException {
+        String json = "{ \"name\" : \"José\",\n  \"age\":30 }";
+        FormEntity entity = new FormEntity();
+
+        codec("json").writeRaw(entity, json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(json, entity.getFormData());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"smile", "smile-deflate"})
+    void shouldStoreBinaryFormatsInBinaryColumn(String format) throws IOException {
+        FormEntity entity = new FormEntity();
+        entity.setFormData("{\"stale\":true}");
+
+        codec(format).write(entity, sampleData());
+
+        assertNull(entity.getFormData());
+        assertNotNull(entity.getFormDataBinary());
+    }
+
+    @Test
+    void shouldReadRowsWrittenWithAnotherFormat() throws IOException {
+        Map<String, Object> data = sampleData();
+        FormDataCodec jsonCodec = codec("json");
+        for (String format : List.of("json", "smile", "smile-deflate")) {
+            FormEntity entity = new FormEntity();
+            codec(format).write(entity, data);
+
+            assertEquals(data, jsonCodec.read(entity), format);
+        }
+    }
+
+    @Test
+    void shouldReadLegacyRowWithoutFormatAsJsonText() throws IOException {
+        FormEntity entity = new FormEntity();
+        entity.setFormData("{\"name\":\"John\",\"age\":30,\"tags\":[\"a\",\"b\"]}");
+        entity.setFormDataFormat(null);
+
+        Map<String, Object> data = codec("smile-deflate").read(entity);
+
+        assertEquals(Map.of("name", "John", "age", 30, "tags", List.of("a", "b")), data);
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> codec("xml"));
+
+        FormEntity entity = new FormEntity();
+        entity.setFormDataFormat("xml");
+        assertThrows(IllegalArgumentException.class, () -> codec("json").read(entity));
+    }
+
+    private static FormDataCodec codec(String format) {
+        return new FormDataCodec(OBJECT_MAPPER, format);
+    }
+
+    private static Map<String, Object> sampleData() {
+        Map<String, Object> address = new LinkedHashMap<>();
+        address.put("city", "Madrid");
+        address.put("zip", "28001");
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("name", "José Núñez");
+        data.put("age", 30);
+        data.put("score", 9.75);
+        data.put("active", true);
+        data.put("comment", null);
+        data.put("note", "line\nbreak \"quoted\" 😀");
+        data.put("tags", List.of("a", "b"));
+        data.put("address", address);
+        return data;
+    }
+}
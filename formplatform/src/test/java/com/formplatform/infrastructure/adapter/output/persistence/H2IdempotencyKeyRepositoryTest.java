@@ -0,0 +1,51 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import com.formplatform.application.exception.DuplicateIdempotencyKeyException;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.QuarkusTransactionException;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+class H2IdempotencyKeyRepositoryTest {
+
+    @Inject
+    H2IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @Test
+    void shouldReportDuplicateKeyAndRollBack() {
+        String key = UUID.randomUUID().toString();
+        UUID firstFormId = UUID.randomUUID();
+        QuarkusTransaction.requiringNew().run(() -> idempotencyKeyRepository.save(key, firstFormId));
+
+        // The duplicate marks the transaction for rollback, so it cannot commit
+        assertThrows(QuarkusTransactionException.class, () -> QuarkusTransaction.requiringNew().run(() -> {
+            assertThrows(DuplicateIdempotencyKeyException.class,
+                    () -> idempotencyKeyRepository.save(key, UUID.randomUUID()));
+            assertEquals(Status.STATUS_MARKED_ROLLBACK, transactionSynchronizationRegistry.getTransactionStatus());
+        }));
+
+        Optional<UUID> formId = QuarkusTransaction.requiringNew().call(() -> idempotencyKeyRepository.findFormId(key));
+        assertEquals(Optional.of(firstFormId), formId);
+    }
+
+    @Test
+    void shouldNotFindUnknownKey() {
+        Optional<UUID> formId = QuarkusTransaction.requiringNew()
+                .call(() -> idempotencyKeyRepository.findFormId(UUID.randomUUID().toString()));
+
+        assertEquals(Optional.empty(), formId);
+    }
+}
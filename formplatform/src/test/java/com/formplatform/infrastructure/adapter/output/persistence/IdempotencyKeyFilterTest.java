@@ -0,0 +1,59 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyKeyFilterTest {
+
+    @Test
+    void shouldContainEveryAddedKey() {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter(10_000);
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = UUID.randomUUID().toString();
+            filter.add(keys[i]);
+        }
+
+        for (String key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+    }
+
+    @Test
+    void shouldRejectKeysOfEmptyFilter() {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter(1000);
+
+        assertFalse(filter.mightContain("order-1"));
+        assertFalse(filter.mightContain(""));
+    }
+
+    @Test
+    void shouldKeepFalsePositivesNearConfiguredRateAtExpectedSize() {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("added-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("absent-" + i)) {
+                falsePositives++;
+            }
+        }
+        // Configured for 1%; allow some slack for the hash distribution
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void shouldHandleMinimalExpectedSize() {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter(0);
+
+        filter.add("only-key");
+
+        assertTrue(filter.mightContain("only-key"));
+    }
+}
@@ -0,0 +1,133 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class OutboxEventRepositoryTest {
+
+    @Inject
+    OutboxEventRepository outboxRepository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    void shouldWriteBackEventsStillHeldUnderClaim() {
+        List<OutboxRepository.PendingOutboxEvent> claimed = claimEvents(3);
+        String claimToken = claimed.get(0).claimToken();
+        List<Long> ids = claimed.stream().map(OutboxRepository.PendingOutboxEvent::id).toList();
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            outboxRepository.markSentAll(ids.subList(0, 1), claimToken);
+            outboxRepository.releaseClaims(ids.subList(1, 2), claimToken);
+            outboxRepository.scheduleRetryAll(ids.subList(2, 3), claimToken, 5);
+        });
+
+        OutboxEventEntity sent = find(ids.get(0));
+        assertEquals(OutboxEventEntity.Status.SENT, sent.getStatus());
+        assertNull(sent.getClaimToken());
+        OutboxEventEntity released = find(ids.get(1));
+        assertEquals(OutboxEventEntity.Status.PENDING, released.getStatus());
+        assertNull(released.getClaimToken());
+        assertEquals(0, released.getRetryCount());
+        OutboxEventEntity retried = find(ids.get(2));
+        assertEquals(1, retried.getRetryCount());
+        assertNotNull(retried.getNextRetryAt());
+        assertNull(retried.getClaimToken());
+    }
+
+    @Test
+    void shouldLeaveEventsTakenOverByAnotherDrain() {
+        List<OutboxRepository.PendingOutboxEvent> claimed = claimEvents(3);
+        String staleToken = claimed.get(0).claimToken();
+        List<Long> ids = claimed.stream().map(OutboxRepository.PendingOutboxEvent::id).toList();
+        // The lease expired and another drain claimed the events before this one wrote back
+        String takeoverToken = UUID.randomUUID().toString();
+        QuarkusTransaction.requiringNew().run(() -> entityManager
+                .createNativeQuery("UPDATE outbox_events SET claim_token = :token WHERE id IN (:ids)")
+                .setParameter("token", takeoverToken)
+                .setParameter("ids", ids)
+                .executeUpdate());
+
+        List<OutboxRepository.DelayedOutboxEvent> delayed = QuarkusTransaction.requiringNew().call(() -> {
+            outboxRepository.markSentAll(ids.subList(0, 1), staleToken);
+            outboxRepository.releaseClaims(ids.subList(1, 2), staleToken);
+            return outboxRepository.scheduleRetryAll(ids.subList(2, 3), staleToken, 5);
+        });
+
+        assertTrue(delayed.isEmpty());
+        for (Long id : ids) {
+            OutboxEventEntity event = find(id);
+            assertEquals(OutboxEventEntity.Status.PENDING, event.getStatus());
+            assertEquals(takeoverToken, event.getClaimToken());
+            assertEquals(0, event.getRetryCount());
+            assertNull(event.getNextRetryAt());
+        }
+    }
+
+    @Test
+    void shouldPurgeOnlySentEventsOlderThanCutoffInChunks() {
+        // Far in the past, so SENT events left by other tests are younger than the cutoff
+        LocalDateTime cutoff = LocalDateTime.of(2000, 6, 1, 0, 0);
+        List<Long> oldSent = createEvents(3, OutboxEventEntity.Status.SENT, cutoff.minusDays(30));
+        List<Long> oldPending = createEvents(1, OutboxEventEntity.Status.PENDING, cutoff.minusDays(30));
+        List<Long> oldFailed = createEvents(1, OutboxEventEntity.Status.FAILED, cutoff.minusDays(30));
+        List<Long> recentSent = createEvents(1, OutboxEventEntity.Status.SENT, cutoff.plusDays(1));
+
+        assertEquals(2, outboxRepository.purgeSent(cutoff, 2));
+        assertEquals(1, outboxRepository.purgeSent(cutoff, 2));
+        assertEquals(0, outboxRepository.purgeSent(cutoff, 2));
+
+        oldSent.forEach(id -> assertNull(find(id)));
+        Stream.of(oldPending, oldFailed, recentSent).flatMap(List::stream)
+                .forEach(id -> assertNotNull(find(id)));
+    }
+
+    /**
+     * Creates events on a channel of their own with the given status and creation time.
+     */
+    private List<Long> createEvents(int count, OutboxEventEntity.Status status, LocalDateTime createdAt) {
+        String channel = "test-" + UUID.randomUUID();
+        List<UUID> formIds = Stream.generate(UUID::randomUUID).limit(count).toList();
+        return QuarkusTransaction.requiringNew().call(() -> {
+            outboxRepository.saveFormEvents(channel, formIds);
+            entityManager.createNativeQuery(
+                            "UPDATE outbox_events SET status = :status, created_at = :createdAt WHERE channel = :channel")
+                    .setParameter("status", status.name())
+                    .setParameter("createdAt", createdAt)
+                    .setParameter("channel", channel)
+                    .executeUpdate();
+            return entityManager
+                    .createQuery("SELECT e.id FROM OutboxEventEntity e WHERE e.channel = :channel", Long.class)
+                    .setParameter("channel", channel)
+                    .getResultList();
+        });
+    }
+
+    /**
+     * Claims fresh events on a channel of their own, so events left by other tests are not picked up.
+     */
+    private List<OutboxRepository.PendingOutboxEvent> claimEvents(int count) {
+        String channel = "test-" + UUID.randomUUID();
+        List<UUID> formIds = Stream.generate(UUID::randomUUID).limit(count).toList();
+        QuarkusTransaction.requiringNew().run(() -> outboxRepository.saveFormEvents(channel, formIds));
+        List<OutboxRepository.PendingOutboxEvent> claimed = outboxRepository.claimPending(channel, count);
+        assertEquals(count, claimed.size());
+        return claimed;
+    }
+
+    private OutboxEventEntity find(Long id) {
+        return QuarkusTransaction.requiringNew().call(() -> entityManager.find(OutboxEventEntity.class, id));
+    }
+}
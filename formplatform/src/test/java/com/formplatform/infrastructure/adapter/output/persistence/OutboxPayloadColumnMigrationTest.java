@@ -0,0 +1,60 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@QuarkusTest
+class OutboxPayloadColumnMigrationTest {
+
+    @Inject
+    OutboxPayloadColumnMigration migration;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    void shouldRelaxPayloadColumnOfLegacyDatabase() {
+        // Recreate the pre-compact-rows schema: no null payloads, column NOT NULL
+        QuarkusTransaction.requiringNew().run(() -> {
+            entityManager.createNativeQuery("DELETE FROM outbox_events WHERE payload IS NULL").executeUpdate();
+            entityManager.createNativeQuery("ALTER TABLE outbox_events ALTER COLUMN payload SET NOT NULL").executeUpdate();
+        });
+        assertEquals("NO", payloadNullable());
+
+        migration.onStart(new StartupEvent());
+
+        assertEquals("YES", payloadNullable());
+    }
+
+    @Test
+    void shouldLeaveNullableColumnAlone() {
+        assertEquals("YES", payloadNullable());
+
+        migration.onStart(new StartupEvent());
+
+        assertEquals("YES", payloadNullable());
+    }
+
+    @Test
+    void shouldNotTouchSchemaWithoutCompactRows() {
+        EntityManager unusedEntityManager = mock(EntityManager.class);
+
+        new OutboxPayloadColumnMigration(unusedEntityManager, false).onStart(new StartupEvent());
+
+        verifyNoInteractions(unusedEntityManager);
+    }
+
+    private String payloadNullable() {
+        return QuarkusTransaction.requiringNew().call(() -> (String) entityManager.createNativeQuery(
+                        "SELECT is_nullable FROM information_schema.columns " +
+                        "WHERE table_schema = CURRENT_SCHEMA AND table_name = 'OUTBOX_EVENTS' AND column_name = 'PAYLOAD'")
+                .getSingleResult());
+    }
+}
@@ -0,0 +1,47 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRetentionTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final OutboxRetention retention = new OutboxRetention(outboxEventRepository, Duration.ofDays(7), CHUNK_SIZE);
+
+    @Test
+    void shouldPurgeChunksUntilShortChunk() {
+        when(outboxEventRepository.purgeSent(any(), eq(CHUNK_SIZE))).thenReturn(CHUNK_SIZE, CHUNK_SIZE, 42);
+
+        retention.purgeSentEvents();
+
+        verify(outboxEventRepository, times(3)).purgeSent(any(), eq(CHUNK_SIZE));
+    }
+
+    @Test
+    void shouldStopAfterEmptyChunk() {
+        when(outboxEventRepository.purgeSent(any(), eq(CHUNK_SIZE))).thenReturn(0);
+
+        retention.purgeSentEvents();
+
+        verify(outboxEventRepository, times(1)).purgeSent(any(), eq(CHUNK_SIZE));
+    }
+
+    @Test
+    void shouldUseSameCutoffForAllChunks() {
+        LocalDateTime before = LocalDateTime.now().minusDays(7);
+        when(outboxEventRepository.purgeSent(any(), eq(CHUNK_SIZE))).thenReturn(CHUNK_SIZE, 0);
+
+        retention.purgeSentEvents();
+
+        LocalDateTime after = LocalDateTime.now().minusDays(7);
+        verify(outboxEventRepository, times(2)).purgeSent(
+                argThat(cutoff -> !cutoff.isBefore(before) && !cutoff.isAfter(after)), eq(CHUNK_SIZE));
+    }
+}
@@ -0,0 +1,107 @@
+package com.formplatform.infrastructure.adapter.output.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    private static final int COUNT = 10_000;
+
+    @Test
+    void shouldSetVersionAndVariant() {
+        for (int i = 0; i < COUNT; i++) {
+            UUID id = UuidV7.next();
+
+            assertEquals(7, id.version());
+            assertEquals(2, id.variant());
+        }
+    }
+
+    @Test
+    void shouldStartWithCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        // Carried forward by at most a few ms if earlier tests exhausted a counter
+        long timestamp = timestamp(id);
+        assertTrue(timestamp >= before && timestamp <= after + 10, "timestamp " + timestamp);
+    }
+
+    @Test
+    void shouldIncreaseStrictlyWithinTheSameMillisecond() {
+        List<UUID> ids = new ArrayList<>(COUNT);
+        for (int i = 0; i < COUNT; i++) {
+            ids.add(UuidV7.next());
+        }
+
+        int sameMillis = 0;
+        for (int i = 1; i < ids.size(); i++) {
+            UUID previous = ids.get(i - 1);
+            UUID current = ids.get(i);
+            assertTrue(compareUnsigned(previous, current) < 0, previous + " is not before " + current);
+            if (timestamp(previous) == timestamp(current)) {
+                sameMillis++;
+                // Within a millisecond the counter orders the ids, not the random bits
+                assertEquals(counter(previous) + 1, counter(current));
+            }
+        }
+        assertTrue(sameMillis > 0, "no two ids were generated in the same millisecond");
+    }
+
+    @Test
+    void shouldBeUniqueAndOrderedPerThreadAcrossThreads() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<UUID>>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(threads.submit(() -> {
+                    List<UUID> ids = new ArrayList<>(COUNT);
+                    for (int i = 0; i < COUNT; i++) {
+                        ids.add(UuidV7.next());
+                    }
+                    return ids;
+                }));
+            }
+
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> result : results) {
+                List<UUID> ids = result.get(10, TimeUnit.SECONDS);
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(4 * COUNT, all.size());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static long timestamp(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+    private static long counter(UUID id) {
+        return id.getMostSignificantBits() & 0xFFFL;
+    }
+
+    /**
+     * Byte order, as the database compares UUIDs; UUID.compareTo compares signed halves.
+     */
+    private static int compareUnsigned(UUID a, UUID b) {
+        int most = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return most != 0 ? most : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
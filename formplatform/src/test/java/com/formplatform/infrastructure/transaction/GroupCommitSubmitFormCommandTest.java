@@ -0,0 +1,216 @@
+package com.formplatform.infrastructure.transaction;
+
+import com.formplatform.application.exception.InvalidFormException;
+import com.formplatform.domain.model.RawFormData;
+import com.formplatform.domain.port.input.SubmitFormCommand;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Groups are committed through QuarkusTransaction, hence the application around a mocked use case
+@QuarkusTest
+class GroupCommitSubmitFormCommandTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private SubmitFormCommand delegate;
+    private ExecutorService callers;
+    private GroupCommitSubmitFormCommand groupCommit;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(SubmitFormCommand.class);
+        callers = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (groupCommit != null) {
+            groupCommit.close();
+        }
+        callers.shutdownNow();
+    }
+
+    @Test
+    void shouldCommitConcurrentSubmissionsInOneBatch() throws Exception {
+        when(delegate.executeBatch(anyList())).thenAnswer(invocation -> successes(invocation.getArgument(0)));
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 3, Duration.ofSeconds(5));
+
+        List<Future<UUID>> ids = submitConcurrently(3);
+
+        // The group is full before the window ends
+        assertEquals(3, new HashSet<>(results(ids)).size());
+        verify(delegate, times(1)).executeBatch(anyList());
+    }
+
+    @Test
+    void shouldCommitGroupWhenWindowEnds() throws Exception {
+        when(delegate.executeBatch(anyList())).thenAnswer(invocation -> successes(invocation.getArgument(0)));
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 64, Duration.ofMillis(50));
+
+        UUID id = groupCommit.execute(Map.of("name", "John"));
+
+        assertNotNull(id);
+        verify(delegate).executeBatch(List.of(Map.of("name", "John")));
+    }
+
+    @Test
+    void shouldReportInvalidFormToItsCallerOnly() throws Exception {
+        when(delegate.executeBatch(anyList())).thenAnswer(invocation -> {
+            List<Map<String, Object>> forms = invocation.getArgument(0);
+            List<SubmitFormCommand.SubmissionResult> results = new ArrayList<>();
+            for (Map<String, Object> form : forms) {
+                results.add(form.containsKey("invalid")
+                        ? SubmitFormCommand.SubmissionResult.failure("Form data cannot be empty")
+                        : SubmitFormCommand.SubmissionResult.success(UUID.randomUUID()));
+            }
+            return results;
+        });
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 2, Duration.ofSeconds(5));
+
+        Future<UUID> valid = callers.submit(() -> groupCommit.execute(Map.of("name", "John")));
+        Future<UUID> invalid = callers.submit(() -> groupCommit.execute(Map.of("invalid", true)));
+
+        assertNotNull(valid.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> invalid.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertInstanceOf(InvalidFormException.class, failure.getCause());
+    }
+
+    @Test
+    void shouldRetryEachSubmissionAloneWhenGroupFails() throws Exception {
+        when(delegate.executeBatch(anyList())).thenAnswer(invocation -> {
+            List<Map<String, Object>> forms = invocation.getArgument(0);
+            if (forms.size() > 1) {
+                throw new IllegalStateException("constraint violation");
+            }
+            if (forms.get(0).containsKey("broken")) {
+                throw new IllegalStateException("still broken");
+            }
+            return successes(forms);
+        });
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 3, Duration.ofSeconds(5));
+
+        Future<UUID> first = callers.submit(() -> groupCommit.execute(Map.of("name", "John")));
+        Future<UUID> broken = callers.submit(() -> groupCommit.execute(Map.of("broken", true)));
+        Future<UUID> third = callers.submit(() -> groupCommit.execute(Map.of("name", "Jane")));
+
+        assertNotNull(first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertNotNull(third.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> broken.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("still broken", failure.getCause().getMessage());
+        // One failed group, then one transaction per submission
+        verify(delegate, times(4)).executeBatch(anyList());
+    }
+
+    @Test
+    void shouldBypassQueueForIdempotentSubmissions() {
+        UUID id = UUID.randomUUID();
+        when(delegate.execute(Map.of("name", "John"), "key-1")).thenReturn(id);
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 64, Duration.ofSeconds(5));
+
+        assertEquals(id, groupCommit.execute(Map.of("name", "John"), "key-1"));
+        verify(delegate, never()).executeBatch(anyList());
+    }
+
+    @Test
+    void shouldRunRawSubmissionsInCallersTransaction() {
+        RawFormData formData = new RawFormData("{\"name\":\"John\"}".getBytes(StandardCharsets.UTF_8), 1);
+        UUID id = UUID.randomUUID();
+        List<Boolean> inTransaction = new ArrayList<>();
+        when(delegate.executeRaw(formData, null)).thenAnswer(invocation -> {
+            inTransaction.add(QuarkusTransaction.isActive());
+            return id;
+        });
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 64, Duration.ofSeconds(5));
+
+        assertEquals(id, QuarkusTransaction.requiringNew().call(() -> groupCommit.executeRaw(formData, null)));
+        assertEquals(id, groupCommit.executeRaw(formData, null));
+
+        // Same behaviour as the ungrouped use case: the caller owns the transaction
+        assertEquals(List.of(true, false), inTransaction);
+        verify(delegate, never()).executeBatch(anyList());
+    }
+
+    @Test
+    void shouldCommitQueuedSubmissionsBeforeShuttingDown() throws Exception {
+        CountDownLatch committing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.executeBatch(anyList())).thenAnswer(invocation -> {
+            committing.countDown();
+            release.await();
+            return successes(invocation.getArgument(0));
+        });
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 1, Duration.ofMillis(1));
+
+        Future<UUID> inFlight = callers.submit(() -> groupCommit.execute(Map.of("name", "John")));
+        assertTrue(committing.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Future<UUID> queued = callers.submit(() -> groupCommit.execute(Map.of("name", "Jane")));
+        Future<?> closing = callers.submit(() -> {
+            // Let the second submission reach the queue before shutting down
+            Thread.sleep(200);
+            groupCommit.close();
+            return null;
+        });
+        Thread.sleep(400);
+        release.countDown();
+
+        closing.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(inFlight.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertNotNull(queued.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        verify(delegate, times(2)).executeBatch(anyList());
+    }
+
+    @Test
+    void shouldRejectSubmissionsAfterShutdown() {
+        groupCommit = new GroupCommitSubmitFormCommand(delegate, 64, Duration.ofMillis(1));
+        groupCommit.close();
+
+        assertThrows(IllegalStateException.class, () -> groupCommit.execute(Map.of("name", "John")));
+        verifyNoInteractions(delegate);
+    }
+
+    private List<Future<UUID>> submitConcurrently(int count) {
+        List<Future<UUID>> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> form = Map.of("n", i);
+            ids.add(callers.submit(() -> groupCommit.execute(form)));
+        }
+        return ids;
+    }
+
+    private static List<UUID> results(List<Future<UUID>> futures) throws Exception {
+        List<UUID> results = new ArrayList<>();
+        for (Future<UUID> future : futures) {
+            results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    private static List<SubmitFormCommand.SubmissionResult> successes(List<?> forms) {
+        List<SubmitFormCommand.SubmissionResult> results = new ArrayList<>();
+        for (int i = 0; i < forms.size(); i++) {
+            results.add(SubmitFormCommand.SubmissionResult.success(UUID.randomUUID()));
+        }
+        return results;
+    }
+}
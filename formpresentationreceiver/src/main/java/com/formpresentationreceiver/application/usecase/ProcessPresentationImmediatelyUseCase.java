@@ -44,6 +44,17 @@ public class ProcessPresentationImmediatelyUseCase implements ProcessPresentatio
             return;
         }
 
+        process(presentationId);
+    }
+
+    @Override
+    @Transactional
+    public void executeClaimed(PresentationId presentationId) {
+        // Inserted as DOING by the receive, so no other instance can have claimed it
+        process(presentationId);
+    }
+
+    private void process(PresentationId presentationId) {
         log.info(() -> "Processing presentation with ID: " + presentationId + " (status: DOING)");
 
         try {
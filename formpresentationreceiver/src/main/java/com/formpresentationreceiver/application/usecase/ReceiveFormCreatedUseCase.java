@@ -5,37 +5,63 @@ import com.formpresentationreceiver.domain.port.input.ReceiveFormCreatedCommand;
 import com.formpresentationreceiver.domain.port.output.InboxRepository;
 import jakarta.transaction.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.logging.Logger;
 
 /**
  * Use case for receiving form created events and storing them in the inbox
  * This use case ONLY handles inbox insertion in its own transaction
  * Processing is handled separately by ProcessPresentationImmediatelyCommand
+ *
+ * With claimOnInsert, new entries are inserted already marked as processing and claimed by the
+ * caller, which then runs ProcessPresentationImmediatelyCommand.executeClaimed instead of execute.
  */
 public class ReceiveFormCreatedUseCase implements ReceiveFormCreatedCommand {
 
     private static final Logger log = Logger.getLogger(ReceiveFormCreatedUseCase.class.getName());
 
     private final InboxRepository inboxRepository;
+    private final boolean claimOnInsert;
 
     public ReceiveFormCreatedUseCase(InboxRepository inboxRepository) {
+        this(inboxRepository, false);
+    }
+
+    public ReceiveFormCreatedUseCase(InboxRepository inboxRepository, boolean claimOnInsert) {
         this.inboxRepository = inboxRepository;
+        this.claimOnInsert = claimOnInsert;
     }
 
     @Override
     @Transactional
-    public void execute(PresentationId presentationId) {
+    public boolean execute(PresentationId presentationId) {
         log.info(() -> "Receiving form created event for presentationId: " + presentationId);
 
-        // Check if already exists to avoid duplicates (idempotency)
-        if (inboxRepository.existsByPresentationId(presentationId)) {
+        // Insert-if-absent in one statement: a duplicate (idempotency) is skipped without an exists query
+        boolean saved = claimOnInsert
+                ? inboxRepository.saveIfAbsentAsProcessing(presentationId)
+                : inboxRepository.saveIfAbsent(presentationId);
+
+        if (saved) {
+            log.info(() -> "PresentationId " + presentationId + " saved to inbox successfully");
+        } else {
             log.info(() -> "PresentationId " + presentationId + " already exists in inbox, skipping");
-            return;
         }
+        return saved;
+    }
 
-        // Save presentation ID to inbox
-        inboxRepository.save(presentationId);
+    @Override
+    @Transactional
+    public List<PresentationId> executeBatch(List<PresentationId> presentationIds) {
+        // Redeliveries can put the same id twice in one batch
+        List<PresentationId> received = List.copyOf(new LinkedHashSet<>(presentationIds));
+        List<PresentationId> saved = claimOnInsert
+                ? inboxRepository.saveAllIfAbsentAsProcessing(received)
+                : inboxRepository.saveAllIfAbsent(received);
 
-        log.info(() -> "PresentationId " + presentationId + " saved to inbox successfully");
+        log.info(() -> "Batch of " + presentationIds.size() + " form created events: " + saved.size()
+                + " saved to inbox, " + (presentationIds.size() - saved.size()) + " duplicates skipped");
+        return saved;
     }
 }
@@ -15,4 +15,11 @@ public interface ProcessPresentationImmediatelyCommand {
      * If already being processed, does nothing
      */
     void execute(PresentationId presentationId);
+
+    /**
+     * Process a presentation the caller already holds as processing, because it was inserted
+     * claimed (see ReceiveFormCreatedCommand). Skips the claim; success and failure are
+     * recorded as in execute
+     */
+    void executeClaimed(PresentationId presentationId);
 }
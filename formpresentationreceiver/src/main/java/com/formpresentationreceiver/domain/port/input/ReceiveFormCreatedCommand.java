@@ -2,13 +2,23 @@ package com.formpresentationreceiver.domain.port.input;
 
 import com.formpresentationreceiver.domain.model.PresentationId;
 
+import java.util.List;
+
 /**
  * Input port for receiving form created events
  */
 public interface ReceiveFormCreatedCommand {
 
     /**
-     * Handle a form created event
+     * Handle a form created event.
+     * Returns true if the event was stored, false if it had already been received. When the
+     * implementation claims on insert, a stored event is owned by the caller for processing.
+     */
+    boolean execute(PresentationId presentationId);
+
+    /**
+     * Handle several form created events in a single unit of work: ids that are already in the
+     * inbox, or repeated within the batch, are stored only once. Returns the ids that were stored.
      */
-    void execute(PresentationId presentationId);
+    List<PresentationId> executeBatch(List<PresentationId> presentationIds);
 }
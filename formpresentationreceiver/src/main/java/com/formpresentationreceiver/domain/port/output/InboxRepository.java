@@ -16,6 +16,31 @@ public interface InboxRepository {
      */
     PresentationId save(PresentationId presentationId);
 
+    /**
+     * Save a presentation ID to the inbox unless it is already there, in a single statement.
+     * Returns true if it was inserted, false if it already existed.
+     */
+    boolean saveIfAbsent(PresentationId presentationId);
+
+    /**
+     * Save the presentation IDs that are not in the inbox yet, in a single statement.
+     * Returns the ones that were inserted.
+     */
+    List<PresentationId> saveAllIfAbsent(List<PresentationId> presentationIds);
+
+    /**
+     * Same as saveIfAbsent, but the presentation is inserted already marked as processing (DOING,
+     * attemptedAt set), claimed by the caller. The caller must finish it with markAsProcessed or
+     * markAsUnprocessed; if it never does, resetStuckDoingItems brings it back to PENDING.
+     */
+    boolean saveIfAbsentAsProcessing(PresentationId presentationId);
+
+    /**
+     * Same as saveAllIfAbsent, but the inserted presentations are marked as processing and claimed
+     * by the caller (see saveIfAbsentAsProcessing).
+     */
+    List<PresentationId> saveAllIfAbsentAsProcessing(List<PresentationId> presentationIds);
+
     /**
      * Find unprocessed presentation IDs
      */
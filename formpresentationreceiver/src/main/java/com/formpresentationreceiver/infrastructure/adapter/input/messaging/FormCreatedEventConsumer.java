@@ -3,15 +3,14 @@ package com.formpresentationreceiver.infrastructure.adapter.input.messaging;
 import com.formpresentationreceiver.domain.model.PresentationId;
 import com.formpresentationreceiver.domain.port.input.ProcessPresentationImmediatelyCommand;
 import com.formpresentationreceiver.domain.port.input.ReceiveFormCreatedCommand;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.smallrye.reactive.messaging.annotations.Blocking;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Incoming;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.nio.charset.StandardCharsets;
 
 /**
  * RabbitMQ consumer for form-created events.
@@ -21,12 +20,32 @@ import java.util.UUID;
  * 1. ReceiveFormCreatedCommand  - saves to inbox (committed first)
  * 2. ProcessPresentationImmediatelyCommand - processes immediately (scheduler retries on failure)
  *
+ * Messages are consumed as raw bytes (content-type-override in application.properties) and only
+ * the formId is extracted, by FormCreatedEventDecoder; the payload is only turned into a String
+ * to be logged.
+ *
  * Message handling strategy:
  * - Malformed / unparse-able messages: discarded immediately (logged, not re-queued)
  *   to avoid poison-message infinite loops. The DLQ configured in application.properties
  *   will receive NACKed messages for manual inspection.
  * - Inbox save failure (DB outage): re-thrown so the broker re-queues the message.
  * - Processing failure: swallowed; the inbox entry is committed and the scheduler retries.
+ * - Already received (broker redelivery, duplicate publish): acknowledged without processing;
+ *   the first delivery owns the inbox entry.
+ *
+ * With formpresentationreceiver.inbox.insert-as-claimed.enabled, step 1 inserts the inbox entry
+ * already in DOING, owned by this delivery, and step 2 processes it without claiming it first:
+ * one UPDATE and one commit less per new event. If the instance dies in between, the entry is
+ * brought back to PENDING by StuckDoingRecoveryScheduler like any other stuck DOING entry.
+ *
+ * Deliveries are handled concurrently on the form-created-consumer worker pool, up to
+ * formpresentationreceiver.consumer.concurrency at a time, out of at most
+ * formpresentationreceiver.consumer.prefetch unacknowledged deliveries pushed by the broker. With
+ * inbox batching enabled the concurrent deliveries share one inbox transaction. Each message is
+ * acknowledged when consume returns, i.e. after the transaction holding its inbox row has committed.
+ * Both settings are defined in application.properties only, next to the settings derived from
+ * them; each concurrent delivery needs a database connection, so the pool is checked against the
+ * concurrency at startup.
  */
 @ApplicationScoped
 public class FormCreatedEventConsumer {
@@ -35,59 +54,87 @@ public class FormCreatedEventConsumer {
 
     private final ReceiveFormCreatedCommand receiveFormCreatedCommand;
     private final ProcessPresentationImmediatelyCommand processPresentationImmediatelyCommand;
-    private final ObjectMapper objectMapper;
+    private final boolean insertAsClaimed;
+    private final FormCreatedEventDecoder decoder = new FormCreatedEventDecoder();
 
     public FormCreatedEventConsumer(
             ReceiveFormCreatedCommand receiveFormCreatedCommand,
-            ProcessPresentationImmediatelyCommand processPresentationImmediatelyCommand) {
+            ProcessPresentationImmediatelyCommand processPresentationImmediatelyCommand,
+            @ConfigProperty(name = "formpresentationreceiver.consumer.concurrency") int concurrency,
+            @ConfigProperty(name = "formpresentationreceiver.consumer.prefetch") int prefetch,
+            @ConfigProperty(name = "quarkus.datasource.jdbc.max-size") int connectionPoolSize,
+            @ConfigProperty(name = "formpresentationreceiver.inbox.insert-as-claimed.enabled", defaultValue = "false") boolean insertAsClaimed) {
         this.receiveFormCreatedCommand = receiveFormCreatedCommand;
         this.processPresentationImmediatelyCommand = processPresentationImmediatelyCommand;
-        this.objectMapper = new ObjectMapper();
+        this.insertAsClaimed = insertAsClaimed;
+
+        log.info("form-created consumer: concurrency={}, prefetch={}", concurrency, prefetch);
+        if (prefetch < concurrency) {
+            log.warn("formpresentationreceiver.consumer.prefetch ({}) is below the consumer concurrency ({}): "
+                    + "at most {} deliveries can be handled at a time", prefetch, concurrency, prefetch);
+        }
+        if (connectionPoolSize <= concurrency) {
+            log.warn("quarkus.datasource.jdbc.max-size ({}) does not exceed the consumer concurrency ({}): "
+                    + "deliveries will wait for database connections", connectionPoolSize, concurrency);
+        }
     }
 
     @Incoming("form-created-in")
-    @Blocking
-    public void consume(String message) {
-        log.info("Received form-created event: {}", message);
+    @Blocking(value = "form-created-consumer", ordered = false)
+    public void consume(byte[] message) {
+        if (log.isDebugEnabled()) {
+            log.debug("Received form-created event: {}", asText(message));
+        }
 
         // --- Parse and validate -------------------------------------------------
         // Malformed messages are discarded (not re-thrown) to avoid infinite requeue
         // of poison messages. They are captured by the DLQ if configured.
         PresentationId presentationId;
         try {
-            JsonNode jsonNode = objectMapper.readTree(message);
-            if (jsonNode == null || !jsonNode.has("formId")) {
-                log.error("Malformed form-created event (missing formId), discarding: {}", message);
+            presentationId = decoder.decode(message);
+            if (presentationId == null) {
+                log.error("Malformed form-created event (missing formId), discarding: {}", asText(message));
                 return;
             }
-            String formIdStr = jsonNode.get("formId").asText();
-            UUID formIdUuid = UUID.fromString(formIdStr);
-            presentationId = PresentationId.of(formIdUuid);
         } catch (IllegalArgumentException e) {
-            log.error("Invalid UUID in form-created event, discarding: {} — {}", message, e.getMessage());
+            log.error("Invalid UUID in form-created event, discarding: {} — {}", asText(message), e.getMessage());
             return;
         } catch (Exception e) {
-            log.error("Failed to parse form-created event, discarding: {} — {}", message, e.getMessage());
+            log.error("Failed to parse form-created event, discarding: {} — {}", asText(message), e.getMessage());
             return;
         }
 
         // --- Step 1: Save to inbox (own transaction) ----------------------------
         // Re-throw on failure so the broker keeps the message and retries delivery.
         // The inbox entry was never written, so there is no duplicate risk.
+        boolean received;
         try {
-            receiveFormCreatedCommand.execute(presentationId);
+            received = receiveFormCreatedCommand.execute(presentationId);
         } catch (Exception e) {
             log.error("Failed to persist {} to inbox, re-queuing for broker retry: {}", presentationId, e.getMessage());
             throw new RuntimeException("Inbox save failed for presentationId=" + presentationId, e);
         }
 
+        if (!received) {
+            log.info("Presentation ID {} already received, skipping immediate processing", presentationId);
+            return;
+        }
+
         // --- Step 2: Immediate processing (separate transaction) ----------------
         // Inbox is already committed. Swallow failure — the scheduler will retry.
         try {
             log.info("Triggering immediate processing for presentation ID: {}", presentationId);
-            processPresentationImmediatelyCommand.execute(presentationId);
+            if (insertAsClaimed) {
+                processPresentationImmediatelyCommand.executeClaimed(presentationId);
+            } else {
+                processPresentationImmediatelyCommand.execute(presentationId);
+            }
         } catch (Exception e) {
             log.warn("Immediate processing failed for {}, will be retried by scheduler: {}", presentationId, e.getMessage());
         }
     }
+
+    private static String asText(byte[] message) {
+        return new String(message, StandardCharsets.UTF_8);
+    }
 }
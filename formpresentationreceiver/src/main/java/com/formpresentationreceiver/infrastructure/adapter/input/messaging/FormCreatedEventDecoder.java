@@ -0,0 +1,114 @@
+package com.formpresentationreceiver.infrastructure.adapter.input.messaging;
+
+import com.formpresentationreceiver.domain.model.PresentationId;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Extracts the formId of a form-created payload straight from the message bytes.
+ *
+ * The payload is walked with a streaming parser from a shared JsonFactory (which recycles the
+ * parser buffers per thread) instead of being built into a tree: the formId field name is matched
+ * on its encoded bytes and the UUID is parsed from the parser's character buffer, so no String is
+ * created for a well-formed message. The outcome is the one ObjectMapper.readTree + asText +
+ * UUID.fromString used to give: the whole payload must be valid JSON, the last formId wins, and a
+ * formId that is not a string is an invalid UUID.
+ */
+final class FormCreatedEventDecoder {
+
+    private static final SerializableString FORM_ID = new SerializedString("formId");
+    private static final int UUID_LENGTH = 36;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * @return the presentation id, or null if the payload has no formId field
+     * @throws IOException if the payload is not valid JSON
+     * @throws IllegalArgumentException if formId is not a valid UUID
+     */
+    PresentationId decode(byte[] payload) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                // Not an object (or empty): the tree had no fields, but the value itself must be valid
+                parser.skipChildren();
+                return null;
+            }
+
+            UUID formId = null;
+            IllegalArgumentException invalidFormId = null;
+            boolean found = false;
+            while (true) {
+                boolean isFormId = parser.nextFieldName(FORM_ID);
+                if (parser.currentToken() != JsonToken.FIELD_NAME) {
+                    break;
+                }
+                JsonToken value = parser.nextToken();
+                if (!isFormId) {
+                    parser.skipChildren();
+                    continue;
+                }
+                found = true;
+                formId = null;
+                invalidFormId = null;
+                if (value == JsonToken.VALUE_STRING) {
+                    try {
+                        formId = parseUuid(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    } catch (IllegalArgumentException e) {
+                        invalidFormId = e;
+                    }
+                } else {
+                    parser.skipChildren();
+                    invalidFormId = new IllegalArgumentException("formId is not a string: " + value);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new IOException("Unexpected token " + parser.currentToken() + " in form-created payload");
+            }
+
+            if (!found) {
+                return null;
+            }
+            if (invalidFormId != null) {
+                throw invalidFormId;
+            }
+            return PresentationId.of(formId);
+        }
+    }
+
+    /**
+     * Parses the canonical 8-4-4-4-12 hex form directly; anything else goes through
+     * UUID.fromString so lenient forms and error messages stay the same.
+     */
+    private static UUID parseUuid(char[] chars, int offset, int length) {
+        if (length == UUID_LENGTH
+                && chars[offset + 8] == '-' && chars[offset + 13] == '-'
+                && chars[offset + 18] == '-' && chars[offset + 23] == '-') {
+            long mostSigBits = 0;
+            long leastSigBits = 0;
+            boolean valid = true;
+            for (int i = 0; i < UUID_LENGTH && valid; i++) {
+                if (i == 8 || i == 13 || i == 18 || i == 23) {
+                    continue;
+                }
+                int digit = Character.digit(chars[offset + i], 16);
+                if (digit < 0) {
+                    valid = false;
+                } else if (i < 19) {
+                    mostSigBits = (mostSigBits << 4) | digit;
+                } else {
+                    leastSigBits = (leastSigBits << 4) | digit;
+                }
+            }
+            if (valid) {
+                return new UUID(mostSigBits, leastSigBits);
+            }
+        }
+        return UUID.fromString(new String(chars, offset, length));
+    }
+}
@@ -2,22 +2,60 @@ package com.formpresentationreceiver.infrastructure.adapter.output.persistence;
 
 import com.formpresentationreceiver.domain.model.PresentationId;
 import com.formpresentationreceiver.domain.port.output.InboxRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
- * H2 implementation of InboxRepository
+ * H2 implementation of InboxRepository.
+ *
+ * Received form ids go through a single insert-if-absent statement. In front of it, a bounded
+ * in-memory set of form ids seen in committed receives (formpresentationreceiver.inbox.recent-ids.size)
+ * drops broker redeliveries without touching the database. The set is a hint only: an id it has
+ * forgotten, or that was received by another instance, is still caught by the statement.
+ *
+ * Status changes are transactional here: the use cases calling them are plain objects created in
+ * BeanConfiguration, so each change commits on its own unless the caller already has a transaction.
+ * All statements go through the EntityManager, so the repository also runs outside Quarkus (see
+ * FormCreatedConsumerBenchmark).
  */
 @ApplicationScoped
 public class H2InboxRepository implements InboxRepository {
 
-    private final InboxEntityRepository inboxEntityRepository;
+    private static final int INSERT_CHUNK = 500;
 
-    public H2InboxRepository(InboxEntityRepository inboxEntityRepository) {
-        this.inboxEntityRepository = inboxEntityRepository;
+    private final EntityManager entityManager;
+    private final TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+    private final Cache<UUID, Boolean> recentFormIds;
+
+    public H2InboxRepository(
+            EntityManager entityManager,
+            TransactionSynchronizationRegistry transactionSynchronizationRegistry,
+            @ConfigProperty(name = "formpresentationreceiver.inbox.recent-ids.size", defaultValue = "100000") long recentIdsSize) {
+        this.entityManager = entityManager;
+        this.transactionSynchronizationRegistry = transactionSynchronizationRegistry;
+        this.recentFormIds = Caffeine.newBuilder()
+                .maximumSize(recentIdsSize)
+                .build();
     }
 
     @Override
@@ -26,56 +64,199 @@ public class H2InboxRepository implements InboxRepository {
                 presentationId.value(),
                 LocalDateTime.now()
         );
-        inboxEntityRepository.persist(entity);
+        entityManager.persist(entity);
         return presentationId;
     }
 
+    @Override
+    @Transactional
+    public boolean saveIfAbsent(PresentationId presentationId) {
+        return saveOneIfAbsent(presentationId, false);
+    }
+
+    @Override
+    @Transactional
+    public List<PresentationId> saveAllIfAbsent(List<PresentationId> presentationIds) {
+        return insertIfAbsent(presentationIds, false);
+    }
+
+    @Override
+    @Transactional
+    public boolean saveIfAbsentAsProcessing(PresentationId presentationId) {
+        return saveOneIfAbsent(presentationId, true);
+    }
+
+    @Override
+    @Transactional
+    public List<PresentationId> saveAllIfAbsentAsProcessing(List<PresentationId> presentationIds) {
+        return insertIfAbsent(presentationIds, true);
+    }
+
+    private boolean saveOneIfAbsent(PresentationId presentationId, boolean claimed) {
+        try {
+            return !insertIfAbsent(List.of(presentationId), claimed).isEmpty();
+        } catch (ConstraintViolationException e) {
+            // A concurrent receive inserted it first; only this statement failed
+            return false;
+        }
+    }
+
+    private List<PresentationId> insertIfAbsent(List<PresentationId> presentationIds, boolean claimed) {
+        List<UUID> formIds = presentationIds.stream()
+                .map(PresentationId::value)
+                .filter(formId -> recentFormIds.getIfPresent(formId) == null)
+                .collect(Collectors.toList());
+        if (formIds.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        List<UUID> inserted = entityManager.unwrap(Session.class).doReturningWork(
+                connection -> mergeIfAbsent(connection, formIds, receivedAt, claimed));
+
+        // Remembered only once committed: a rolled back insert must not drop the redelivery
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    formIds.forEach(formId -> recentFormIds.put(formId, Boolean.TRUE));
+                }
+            }
+        });
+        return inserted.stream()
+                .map(PresentationId::of)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One MERGE per chunk of up to INSERT_CHUNK form ids: rows whose form_id already exists are left
+     * untouched, and the statement returns the form ids it inserted, so duplicates cost neither an
+     * exists query nor a unique-constraint failure. Only two transactions inserting the same new
+     * form id at the same moment still collide on idx_inbox_form_id; the later one fails.
+     * Rows are inserted PENDING, or DOING with attempted_at = receivedAt when claimed, exactly as
+     * tryMarkAsProcessing would leave them.
+     */
+    private static List<UUID> mergeIfAbsent(Connection connection, List<UUID> formIds, LocalDateTime receivedAt,
+            boolean claimed) throws SQLException {
+        Timestamp received = Timestamp.valueOf(receivedAt);
+        List<UUID> inserted = new ArrayList<>(formIds.size());
+        for (int from = 0; from < formIds.size(); from += INSERT_CHUNK) {
+            List<UUID> chunk = formIds.subList(from, Math.min(formIds.size(), from + INSERT_CHUNK));
+            StringBuilder sql = new StringBuilder(
+                    "SELECT form_id FROM FINAL TABLE (MERGE INTO inbox_presentations t USING (VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                sql.append(i == 0 ? "" : ", ").append("(CAST(? AS UUID), CAST(? AS UUID))");
+            }
+            sql.append(") AS s (id, form_id) ON t.form_id = s.form_id " +
+                    "WHEN NOT MATCHED THEN INSERT (id, form_id, received_at, status, retry_count, attempted_at) " +
+                    "VALUES (s.id, s.form_id, ?, ?, 0, ?))");
+            try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
+                int index = 1;
+                for (UUID formId : chunk) {
+                    ps.setObject(index++, UuidV7.next());
+                    ps.setObject(index++, formId);
+                }
+                ps.setTimestamp(index++, received);
+                ps.setString(index++, claimed ? "DOING" : "PENDING");
+                ps.setTimestamp(index, claimed ? received : null);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        inserted.add(rs.getObject(1, UUID.class));
+                    }
+                }
+            }
+        }
+        return inserted;
+    }
+
     @Override
     public List<PresentationId> findUnprocessed(int limit) {
-        return inboxEntityRepository.findUnprocessed(limit).stream()
-                .map(entity -> PresentationId.of(entity.getFormId()))
+        return entityManager.createQuery(
+                        "SELECT e.formId FROM InboxEntity e WHERE e.status = 'PENDING' ORDER BY e.receivedAt ASC", UUID.class)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(PresentationId::of)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<PresentationId> findUnprocessedSince(LocalDateTime since) {
-        return inboxEntityRepository.findUnprocessedSince(since).stream()
-                .map(entity -> PresentationId.of(entity.getFormId()))
+        return entityManager.createQuery(
+                        "SELECT e.formId FROM InboxEntity e WHERE e.status = 'PENDING' AND e.receivedAt >= :since "
+                                + "ORDER BY e.receivedAt ASC", UUID.class)
+                .setParameter("since", since)
+                .getResultStream()
+                .map(PresentationId::of)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public void markAsProcessed(PresentationId presentationId) {
-        inboxEntityRepository.markAsProcessed(presentationId.value());
+        entityManager.createQuery("UPDATE InboxEntity e SET e.status = 'DONE', e.processedAt = :now WHERE e.formId = :formId")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("formId", presentationId.value())
+                .executeUpdate();
     }
 
     @Override
+    @Transactional
     public int tryMarkAsProcessing(PresentationId presentationId) {
-        return inboxEntityRepository.tryMarkAsProcessing(presentationId.value());
+        return entityManager.createQuery("UPDATE InboxEntity e SET e.status = 'DOING', e.attemptedAt = :now "
+                        + "WHERE e.formId = :formId AND e.status = 'PENDING'")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("formId", presentationId.value())
+                .executeUpdate();
     }
 
     @Override
+    @Transactional
     public void markAsUnprocessed(PresentationId presentationId) {
-        inboxEntityRepository.markAsUnprocessed(presentationId.value());
+        entityManager.createQuery("UPDATE InboxEntity e SET e.status = 'PENDING', e.processedAt = null, "
+                        + "e.retryCount = e.retryCount + 1 WHERE e.formId = :formId")
+                .setParameter("formId", presentationId.value())
+                .executeUpdate();
     }
 
     @Override
+    @Transactional
     public void markAsFailed(PresentationId presentationId) {
-        inboxEntityRepository.markAsFailed(presentationId.value());
+        entityManager.createQuery("UPDATE InboxEntity e SET e.status = 'FAILED', e.processedAt = :now WHERE e.formId = :formId")
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("formId", presentationId.value())
+                .executeUpdate();
     }
 
     @Override
     public boolean existsByPresentationId(PresentationId presentationId) {
-        return inboxEntityRepository.existsByPresentationId(presentationId.value());
+        return entityManager.createQuery("SELECT COUNT(e) FROM InboxEntity e WHERE e.formId = :formId", Long.class)
+                .setParameter("formId", presentationId.value())
+                .getSingleResult() > 0;
     }
 
+    /**
+     * Resets DOING items stuck for longer than stuckSince back to PENDING.
+     * Protects against service crashes that leave items in DOING state forever.
+     */
     @Override
+    @Transactional
     public int resetStuckDoingItems(LocalDateTime stuckSince) {
-        return inboxEntityRepository.resetStuckDoingItems(stuckSince);
+        return entityManager.createQuery(
+                        "UPDATE InboxEntity e SET e.status = 'PENDING' WHERE e.status = 'DOING' AND e.attemptedAt < :stuckSince")
+                .setParameter("stuckSince", stuckSince)
+                .executeUpdate();
     }
 
     @Override
     public int getRetryCount(PresentationId presentationId) {
-        return inboxEntityRepository.getRetryCount(presentationId.value());
+        return entityManager.createQuery("SELECT e.retryCount FROM InboxEntity e WHERE e.formId = :formId", Integer.class)
+                .setParameter("formId", presentationId.value())
+                .getResultStream()
+                .findFirst()
+                .orElse(0);
     }
 }
@@ -16,8 +16,10 @@ import java.util.UUID;
 })
 public class InboxEntity {
 
+    /**
+     * Time-ordered UUIDv7 assigned on construction (see UuidV7)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
     @Column(name = "form_id", nullable = false, unique = true)
@@ -42,6 +44,7 @@ public class InboxEntity {
     }
 
     public InboxEntity(UUID formId, LocalDateTime receivedAt) {
+        this.id = UuidV7.next();
         this.formId = formId;
         this.receivedAt = receivedAt;
         this.status = "PENDING";
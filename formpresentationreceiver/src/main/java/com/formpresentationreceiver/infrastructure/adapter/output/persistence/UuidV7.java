@@ -0,0 +1,39 @@
+package com.formpresentationreceiver.infrastructure.adapter.output.persistence;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator of time-ordered UUIDv7 primary keys (RFC 9562).
+ *
+ * Layout: 48-bit Unix timestamp in milliseconds, version 7, a 12-bit counter that orders ids
+ * created within the same millisecond, the variant and 62 random bits. Ids therefore increase
+ * with time and new rows are appended at the right edge of the primary key index instead of
+ * being scattered over it like random v4 UUIDs. The id is known before insert, so no flush is
+ * needed to learn it.
+ *
+ * Ids are strictly increasing within this JVM: when the counter of a millisecond is exhausted,
+ * or the clock moves backwards, the timestamp part is carried forward instead.
+ */
+final class UuidV7 {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RANDOM_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // (unixMillis << 12) | counter of the last generated id
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long next = LAST.updateAndGet(last -> now > last ? now : last + 1);
+        long mostSigBits = ((next >>> 12) << 16) | VERSION | (next & 0xFFFL);
+        long leastSigBits = VARIANT | (RANDOM.nextLong() & RANDOM_MASK);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
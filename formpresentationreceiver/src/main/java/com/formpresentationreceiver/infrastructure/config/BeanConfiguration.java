@@ -7,8 +7,13 @@ import com.formpresentationreceiver.domain.port.input.ProcessPresentationCommand
 import com.formpresentationreceiver.domain.port.input.ProcessPresentationImmediatelyCommand;
 import com.formpresentationreceiver.domain.port.input.ReceiveFormCreatedCommand;
 import com.formpresentationreceiver.domain.port.output.InboxRepository;
+import com.formpresentationreceiver.infrastructure.transaction.BatchingReceiveFormCreatedCommand;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Disposes;
 import jakarta.enterprise.inject.Produces;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
 
 /**
  * CDI Bean configuration for dependency injection
@@ -32,7 +37,22 @@ public class BeanConfiguration {
 
     @Produces
     @ApplicationScoped
-    public ReceiveFormCreatedCommand receiveFormCreatedCommand(InboxRepository inboxRepository) {
-        return new ReceiveFormCreatedUseCase(inboxRepository);
+    public ReceiveFormCreatedCommand receiveFormCreatedCommand(
+            InboxRepository inboxRepository,
+            @ConfigProperty(name = "formpresentationreceiver.inbox.insert-as-claimed.enabled", defaultValue = "false") boolean insertAsClaimed,
+            @ConfigProperty(name = "formpresentationreceiver.inbox.batch.enabled", defaultValue = "false") boolean batchEnabled,
+            @ConfigProperty(name = "formpresentationreceiver.inbox.batch.max-size", defaultValue = "256") int batchMaxSize,
+            @ConfigProperty(name = "formpresentationreceiver.inbox.batch.window", defaultValue = "20ms") Duration batchWindow) {
+        ReceiveFormCreatedCommand receiveFormCreatedUseCase = new ReceiveFormCreatedUseCase(inboxRepository, insertAsClaimed);
+        if (batchEnabled) {
+            return new BatchingReceiveFormCreatedCommand(receiveFormCreatedUseCase, batchMaxSize, batchWindow);
+        }
+        return receiveFormCreatedUseCase;
+    }
+
+    void closeReceiveFormCreatedCommand(@Disposes ReceiveFormCreatedCommand receiveFormCreatedCommand) {
+        if (receiveFormCreatedCommand instanceof BatchingReceiveFormCreatedCommand batching) {
+            batching.close();
+        }
     }
 }
@@ -0,0 +1,192 @@
+package com.formpresentationreceiver.infrastructure.transaction;
+
+import com.formpresentationreceiver.domain.model.PresentationId;
+import com.formpresentationreceiver.domain.port.input.ReceiveFormCreatedCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batching decorator for ReceiveFormCreatedCommand.
+ *
+ * Deliveries consumed concurrently are queued and a dedicated writer thread stores everything that
+ * arrives within a short window (or up to maxBatchSize events) through ONE call to
+ * ReceiveFormCreatedCommand.executeBatch, which is one transaction (the insert-if-absent of the
+ * inbox repository): one statement per batch instead of a statement and a commit per message. If
+ * the same form id is queued twice, only the first caller is told it was newly received.
+ *
+ * Each caller blocks until the shared transaction has committed, so its message is only
+ * acknowledged once its inbox row is durable. If the shared transaction fails, every event of the
+ * batch is retried in its own transaction so one failing event cannot get the whole batch
+ * re-queued.
+ *
+ * The queue, writer thread, window and per-event fallback mirror GroupCommitSubmitFormCommand of
+ * FormPlatform (the two services share no code). Keep both in sync when changing either one.
+ */
+public class BatchingReceiveFormCreatedCommand implements ReceiveFormCreatedCommand, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingReceiveFormCreatedCommand.class);
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final ReceiveFormCreatedCommand delegate;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final BlockingQueue<PendingEvent> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Object lifecycleLock = new Object();
+    private volatile boolean running = true;
+
+    public BatchingReceiveFormCreatedCommand(ReceiveFormCreatedCommand delegate, int maxBatchSize, Duration window) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.writer = new Thread(this::writeLoop, "inbox-batch-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public boolean execute(PresentationId presentationId) {
+        PendingEvent event = new PendingEvent(presentationId, new CompletableFuture<>());
+        // Checked and enqueued under the lock close() takes, so nothing is enqueued once it has
+        // started: every queued event is either written by the writer or failed by close()
+        synchronized (lifecycleLock) {
+            if (!running) {
+                throw new IllegalStateException("Inbox batch writer is shutting down");
+            }
+            queue.add(event);
+        }
+        try {
+            return event.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for inbox batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Inbox batch failed", e.getCause());
+        }
+    }
+
+    /**
+     * Explicit batches already share one transaction, so they bypass the queue.
+     */
+    @Override
+    public List<PresentationId> executeBatch(List<PresentationId> presentationIds) {
+        return delegate.executeBatch(presentationIds);
+    }
+
+    @Override
+    public void close() {
+        synchronized (lifecycleLock) {
+            running = false;
+        }
+        // The writer drains what is still queued before it stops
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingEvent leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.result().completeExceptionally(new IllegalStateException("Inbox batch writer is shutting down"));
+        }
+    }
+
+    private void writeLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingEvent first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                writeBatch(collectBatch(first));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Completes every event of the batch, whatever happens: its callers wait without a timeout.
+     */
+    private void writeBatch(List<PendingEvent> batch) {
+        try {
+            write(batch);
+        } catch (RuntimeException e) {
+            log.error("Unexpected error in inbox batch loop: {}", e.getMessage(), e);
+            for (PendingEvent event : batch) {
+                event.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * An interrupt cuts the window short; the events collected so far are still written.
+     */
+    private List<PendingEvent> collectBatch(PendingEvent first) {
+        List<PendingEvent> batch = new ArrayList<>(maxBatchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            PendingEvent next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void write(List<PendingEvent> batch) {
+        List<PresentationId> presentationIds = new ArrayList<>(batch.size());
+        for (PendingEvent event : batch) {
+            presentationIds.add(event.presentationId());
+        }
+
+        Set<PresentationId> saved;
+        try {
+            saved = new HashSet<>(delegate.executeBatch(presentationIds));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Inbox batch of {} events failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingEvent event : batch) {
+                write(List.of(event));
+            }
+            return;
+        }
+
+        // Only reached once the shared transaction is committed
+        for (PendingEvent event : batch) {
+            event.result().complete(saved.remove(event.presentationId()));
+        }
+    }
+
+    private record PendingEvent(PresentationId presentationId, CompletableFuture<Boolean> result) {}
+}
@@ -0,0 +1,95 @@
+package com.formpresentationreceiver.application.usecase;
+
+import com.formpresentationreceiver.domain.model.PresentationId;
+import com.formpresentationreceiver.domain.port.input.ProcessPresentationCommand;
+import com.formpresentationreceiver.domain.port.output.InboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessPresentationImmediatelyUseCaseTest {
+
+    @Mock
+    private InboxRepository inboxRepository;
+
+    @Mock
+    private ProcessPresentationCommand processPresentationCommand;
+
+    private ProcessPresentationImmediatelyUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ProcessPresentationImmediatelyUseCase(inboxRepository, processPresentationCommand);
+    }
+
+    @Test
+    void shouldMarkClaimedPresentationAsProcessed() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+
+        useCase.executeClaimed(presentationId);
+
+        InOrder inOrder = inOrder(processPresentationCommand, inboxRepository);
+        inOrder.verify(processPresentationCommand).execute(presentationId);
+        inOrder.verify(inboxRepository).markAsProcessed(presentationId);
+        // Already DOING since the receive: no claim is attempted
+        verify(inboxRepository, never()).tryMarkAsProcessing(any());
+        verify(inboxRepository, never()).markAsUnprocessed(any());
+    }
+
+    @Test
+    void shouldReleaseClaimedPresentationForRetryWhenProcessingFails() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+        RuntimeException failure = new IllegalStateException("downstream unavailable");
+        doThrow(failure).when(processPresentationCommand).execute(presentationId);
+        when(inboxRepository.getRetryCount(presentationId)).thenReturn(1);
+
+        RuntimeException thrown = assertThrows(RuntimeException.class, () -> useCase.executeClaimed(presentationId));
+
+        assertSame(failure, thrown);
+        InOrder inOrder = inOrder(inboxRepository);
+        inOrder.verify(inboxRepository).markAsUnprocessed(presentationId);
+        inOrder.verify(inboxRepository).getRetryCount(presentationId);
+        verify(inboxRepository, never()).markAsProcessed(any());
+        verify(inboxRepository, never()).markAsFailed(any());
+    }
+
+    @Test
+    void shouldMarkClaimedPresentationAsFailedOnLastRetry() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+        doThrow(new IllegalStateException("downstream unavailable")).when(processPresentationCommand).execute(presentationId);
+        when(inboxRepository.getRetryCount(presentationId)).thenReturn(ProcessPresentationImmediatelyUseCase.MAX_RETRIES);
+
+        assertThrows(IllegalStateException.class, () -> useCase.executeClaimed(presentationId));
+
+        InOrder inOrder = inOrder(inboxRepository);
+        inOrder.verify(inboxRepository).markAsUnprocessed(presentationId);
+        inOrder.verify(inboxRepository).markAsFailed(presentationId);
+    }
+
+    @Test
+    void shouldProcessPresentationOnlyWhenClaimSucceeds() {
+        PresentationId claimed = PresentationId.of(UUID.randomUUID());
+        PresentationId taken = PresentationId.of(UUID.randomUUID());
+        when(inboxRepository.tryMarkAsProcessing(claimed)).thenReturn(1);
+        when(inboxRepository.tryMarkAsProcessing(taken)).thenReturn(0);
+
+        useCase.execute(claimed);
+        useCase.execute(taken);
+
+        verify(processPresentationCommand).execute(claimed);
+        verify(inboxRepository).markAsProcessed(claimed);
+        verify(processPresentationCommand, never()).execute(taken);
+        verify(inboxRepository, never()).markAsProcessed(taken);
+    }
+}
@@ -8,9 +8,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,37 +35,35 @@ class ReceiveFormCreatedUseCaseTest {
     void shouldSaveNewPresentationIdToInbox() {
         UUID uuid = UUID.randomUUID();
         PresentationId presentationId = PresentationId.of(uuid);
-        
-        when(inboxRepository.existsByPresentationId(any(PresentationId.class))).thenReturn(false);
+        when(inboxRepository.saveIfAbsent(presentationId)).thenReturn(true);
 
-        receiveFormCreatedUseCase.execute(presentationId);
+        boolean received = receiveFormCreatedUseCase.execute(presentationId);
 
-        verify(inboxRepository).save(presentationId);
+        assertTrue(received);
+        verify(inboxRepository).saveIfAbsent(presentationId);
     }
 
     @Test
     void shouldSkipDuplicatePresentationId() {
         UUID uuid = UUID.randomUUID();
         PresentationId presentationId = PresentationId.of(uuid);
-        when(inboxRepository.existsByPresentationId(any(PresentationId.class))).thenReturn(true);
+        when(inboxRepository.saveIfAbsent(presentationId)).thenReturn(false);
 
-        receiveFormCreatedUseCase.execute(presentationId);
+        boolean received = receiveFormCreatedUseCase.execute(presentationId);
 
-        verify(inboxRepository, never()).save(any(PresentationId.class));
+        assertFalse(received);
     }
 
     @Test
-    void shouldCheckForExistingPresentationIdBeforeSaving() {
+    void shouldInsertIfAbsentWithoutExistenceQuery() {
         UUID uuid = UUID.randomUUID();
         PresentationId presentationId = PresentationId.of(uuid);
-        
-        when(inboxRepository.existsByPresentationId(any(PresentationId.class))).thenReturn(false);
+        when(inboxRepository.saveIfAbsent(any(PresentationId.class))).thenReturn(true);
 
         receiveFormCreatedUseCase.execute(presentationId);
 
-        var inOrder = inOrder(inboxRepository);
-        inOrder.verify(inboxRepository).existsByPresentationId(presentationId);
-        inOrder.verify(inboxRepository).save(presentationId);
+        verify(inboxRepository, never()).existsByPresentationId(any());
+        verify(inboxRepository, never()).save(any());
     }
 
     @Test
@@ -69,25 +72,12 @@ class ReceiveFormCreatedUseCaseTest {
         UUID uuid2 = UUID.randomUUID();
         PresentationId presentationId1 = PresentationId.of(uuid1);
         PresentationId presentationId2 = PresentationId.of(uuid2);
-
-        when(inboxRepository.existsByPresentationId(any(PresentationId.class))).thenReturn(false);
+        when(inboxRepository.saveIfAbsent(any(PresentationId.class))).thenReturn(true);
 
         receiveFormCreatedUseCase.execute(presentationId1);
         receiveFormCreatedUseCase.execute(presentationId2);
 
-        verify(inboxRepository, times(2)).save(any(PresentationId.class));
-    }
-
-    @Test
-    void shouldNotSaveWhenPresentationIdAlreadyExists() {
-        UUID uuid = UUID.randomUUID();
-        PresentationId presentationId = PresentationId.of(uuid);
-        when(inboxRepository.existsByPresentationId(any(PresentationId.class))).thenReturn(true);
-
-        receiveFormCreatedUseCase.execute(presentationId);
-
-        verify(inboxRepository).existsByPresentationId(presentationId);
-        verify(inboxRepository, never()).save(any());
+        verify(inboxRepository, times(2)).saveIfAbsent(any(PresentationId.class));
     }
 
     @Test
@@ -96,13 +86,73 @@ class ReceiveFormCreatedUseCaseTest {
         UUID duplicateUuid = UUID.randomUUID();
         PresentationId newPresentationId = PresentationId.of(newUuid);
         PresentationId duplicatePresentationId = PresentationId.of(duplicateUuid);
+        when(inboxRepository.saveIfAbsent(newPresentationId)).thenReturn(true);
+        when(inboxRepository.saveIfAbsent(duplicatePresentationId)).thenReturn(false);
+
+        assertTrue(receiveFormCreatedUseCase.execute(newPresentationId));
+        assertFalse(receiveFormCreatedUseCase.execute(duplicatePresentationId));
+    }
+
+    @Test
+    void shouldSaveBatchWithSingleInsertIfAbsent() {
+        PresentationId presentationId1 = PresentationId.of(UUID.randomUUID());
+        PresentationId presentationId2 = PresentationId.of(UUID.randomUUID());
+        when(inboxRepository.saveAllIfAbsent(List.of(presentationId1, presentationId2)))
+                .thenReturn(List.of(presentationId1, presentationId2));
+
+        List<PresentationId> saved = receiveFormCreatedUseCase.executeBatch(List.of(presentationId1, presentationId2));
 
-        when(inboxRepository.existsByPresentationId(newPresentationId)).thenReturn(false);
-        when(inboxRepository.existsByPresentationId(duplicatePresentationId)).thenReturn(true);
+        assertEquals(List.of(presentationId1, presentationId2), saved);
+        verify(inboxRepository, never()).saveIfAbsent(any());
+        verify(inboxRepository, never()).existsByPresentationId(any());
+    }
+
+    @Test
+    void shouldPassRepeatedPresentationIdsOfBatchOnce() {
+        PresentationId newPresentationId = PresentationId.of(UUID.randomUUID());
+        PresentationId duplicatePresentationId = PresentationId.of(UUID.randomUUID());
+        when(inboxRepository.saveAllIfAbsent(List.of(newPresentationId, duplicatePresentationId)))
+                .thenReturn(List.of(newPresentationId));
+
+        List<PresentationId> saved = receiveFormCreatedUseCase.executeBatch(
+                List.of(newPresentationId, duplicatePresentationId, newPresentationId));
+
+        assertEquals(List.of(newPresentationId), saved);
+    }
+
+    @Test
+    void shouldReturnNothingWhenWholeBatchAlreadyExists() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+        when(inboxRepository.saveAllIfAbsent(anyList())).thenReturn(List.of());
+
+        List<PresentationId> saved = receiveFormCreatedUseCase.executeBatch(List.of(presentationId));
+
+        assertTrue(saved.isEmpty());
+    }
+
+    @Test
+    void shouldInsertClaimedWhenClaimOnInsert() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+        ReceiveFormCreatedUseCase claiming = new ReceiveFormCreatedUseCase(inboxRepository, true);
+        when(inboxRepository.saveIfAbsentAsProcessing(presentationId)).thenReturn(true);
+
+        boolean received = claiming.execute(presentationId);
+
+        assertTrue(received);
+        verify(inboxRepository, never()).saveIfAbsent(any());
+    }
+
+    @Test
+    void shouldInsertClaimedBatchWhenClaimOnInsert() {
+        PresentationId presentationId1 = PresentationId.of(UUID.randomUUID());
+        PresentationId presentationId2 = PresentationId.of(UUID.randomUUID());
+        ReceiveFormCreatedUseCase claiming = new ReceiveFormCreatedUseCase(inboxRepository, true);
+        when(inboxRepository.saveAllIfAbsentAsProcessing(List.of(presentationId1, presentationId2)))
+                .thenReturn(List.of(presentationId2));
 
-        receiveFormCreatedUseCase.execute(newPresentationId);
-        receiveFormCreatedUseCase.execute(duplicatePresentationId);
+        List<PresentationId> saved = claiming.executeBatch(List.of(presentationId1, presentationId2));
 
-        verify(inboxRepository, times(1)).save(any(PresentationId.class));
+        assertEquals(List.of(presentationId2), saved);
+        verify(inboxRepository, never()).saveAllIfAbsent(anyList());
     }
 }
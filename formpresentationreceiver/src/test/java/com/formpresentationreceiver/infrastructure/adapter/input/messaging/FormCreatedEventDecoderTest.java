@@ -0,0 +1,166 @@
+package com.formpresentationreceiver.infrastructure.adapter.input.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.formpresentationreceiver.domain.model.PresentationId;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Every case is also run through ObjectMapper.readTree + asText + UUID.fromString, which the
+ * consumer used before the decoder: both must lead to the same outcome.
+ */
+class FormCreatedEventDecoderTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final FormCreatedEventDecoder decoder = new FormCreatedEventDecoder();
+
+    @Test
+    void shouldDecodeFormId() {
+        UUID formId = UUID.randomUUID();
+
+        Outcome outcome = decode("{\"formId\":\"" + formId + "\",\"event\":\"FORM_CREATED\"}");
+
+        assertEquals(Outcome.decoded(formId), outcome);
+    }
+
+    @Test
+    void shouldSkipOtherFieldsBeforeFormId() {
+        UUID formId = UUID.randomUUID();
+
+        Outcome outcome = decode("{\"event\":{\"nested\":[1,{\"formId\":\"x\"}]},\"formId\":\"" + formId + "\"}");
+
+        assertEquals(Outcome.decoded(formId), outcome);
+    }
+
+    @Test
+    void shouldReportMissingFormId() {
+        assertEquals(Outcome.MISSING, decode("{\"event\":\"FORM_CREATED\"}"));
+        assertEquals(Outcome.MISSING, decode("{}"));
+    }
+
+    @Test
+    void shouldRejectNonStringFormId() {
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":123}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":null}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":true}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":{\"value\":\"" + UUID.randomUUID() + "\"}}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":[\"" + UUID.randomUUID() + "\"]}"));
+    }
+
+    @Test
+    void shouldRejectInvalidUuid() {
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":\"not-a-uuid\"}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":\"\"}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":\"g" + UUID.randomUUID().toString().substring(1) + "\"}"));
+    }
+
+    @Test
+    void shouldAcceptNonCanonicalUuidLikeUuidFromString() {
+        UUID formId = UUID.randomUUID();
+
+        assertEquals(Outcome.decoded(formId), decode("{\"formId\":\"" + formId.toString().toUpperCase() + "\"}"));
+        assertEquals(Outcome.decoded(UUID.fromString("1-2-3-4-5")), decode("{\"formId\":\"1-2-3-4-5\"}"));
+        // Escaped characters are decoded before the UUID is parsed
+        assertEquals(Outcome.decoded(formId),
+                decode("{\"formId\":\"\\u00" + Integer.toHexString(formId.toString().charAt(0)) + formId.toString().substring(1) + "\"}"));
+    }
+
+    @Test
+    void shouldRejectInvalidJson() {
+        UUID formId = UUID.randomUUID();
+
+        assertEquals(Outcome.INVALID_JSON, decode("{\"formId\":\"" + formId + "\""));
+        assertEquals(Outcome.INVALID_JSON, decode("{\"formId\":\"" + formId + "\", "));
+        assertEquals(Outcome.INVALID_JSON, decode("{formId: \"" + formId + "\"}"));
+        assertEquals(Outcome.INVALID_JSON, decode("{\"formId\":\"" + formId + "\",\"event\":[1,}"));
+    }
+
+    @Test
+    void shouldIgnoreTrailingContent() {
+        UUID formId = UUID.randomUUID();
+
+        assertEquals(Outcome.decoded(formId), decode("{\"formId\":\"" + formId + "\"} trailing"));
+    }
+
+    @Test
+    void shouldReportNonObjectRootAsMissingFormId() {
+        assertEquals(Outcome.MISSING, decode("[\"" + UUID.randomUUID() + "\"]"));
+        assertEquals(Outcome.MISSING, decode("\"" + UUID.randomUUID() + "\""));
+        assertEquals(Outcome.MISSING, decode("42"));
+        assertEquals(Outcome.MISSING, decode("null"));
+    }
+
+    @Test
+    void shouldRejectInvalidNonObjectRoot() {
+        assertEquals(Outcome.INVALID_JSON, decode("[1,"));
+    }
+
+    @Test
+    void shouldReportEmptyPayloadAsMissingFormId() {
+        assertEquals(Outcome.MISSING, decode(""));
+        assertEquals(Outcome.MISSING, decode("  \n "));
+    }
+
+    @Test
+    void shouldUseLastFormIdWhenRepeated() {
+        UUID first = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+
+        assertEquals(Outcome.decoded(last), decode("{\"formId\":\"" + first + "\",\"formId\":\"" + last + "\"}"));
+        assertEquals(Outcome.decoded(last), decode("{\"formId\":\"invalid\",\"formId\":\"" + last + "\"}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":\"" + first + "\",\"formId\":\"invalid\"}"));
+        assertEquals(Outcome.INVALID_UUID, decode("{\"formId\":\"" + first + "\",\"formId\":7}"));
+    }
+
+    /**
+     * Decodes the payload and checks that the readTree path ends the same way.
+     */
+    private Outcome decode(String payload) {
+        Outcome outcome;
+        try {
+            PresentationId presentationId = decoder.decode(payload.getBytes(StandardCharsets.UTF_8));
+            outcome = presentationId == null ? Outcome.MISSING : Outcome.decoded(presentationId.value());
+        } catch (IllegalArgumentException e) {
+            outcome = Outcome.INVALID_UUID;
+        } catch (IOException e) {
+            outcome = Outcome.INVALID_JSON;
+        }
+        assertEquals(readTree(payload), outcome, () -> "Outcome differs from readTree for: " + payload);
+        return outcome;
+    }
+
+    private static Outcome readTree(String payload) {
+        try {
+            JsonNode jsonNode = OBJECT_MAPPER.readTree(payload);
+            if (jsonNode == null || !jsonNode.has("formId")) {
+                return Outcome.MISSING;
+            }
+            return Outcome.decoded(UUID.fromString(jsonNode.get("formId").asText()));
+        } catch (IllegalArgumentException e) {
+            return Outcome.INVALID_UUID;
+        } catch (IOException e) {
+            return Outcome.INVALID_JSON;
+        }
+    }
+
+    /**
+     * How the consumer handles a payload: the decoded form id, or why it is discarded.
+     */
+    private record Outcome(String kind, UUID formId) {
+
+        static final Outcome MISSING = new Outcome("missing formId", null);
+        static final Outcome INVALID_UUID = new Outcome("invalid UUID", null);
+        static final Outcome INVALID_JSON = new Outcome("invalid JSON", null);
+
+        static Outcome decoded(UUID formId) {
+            return new Outcome("decoded", formId);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.formpresentationreceiver.infrastructure.adapter.output.persistence;
+
+import com.formpresentationreceiver.domain.model.PresentationId;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@QuarkusTest
+class H2InboxRepositoryTest {
+
+    @Inject
+    H2InboxRepository inboxRepository;
+
+    @Inject
+    InboxEntityRepository inboxEntityRepository;
+
+    @Test
+    void shouldInsertClaimedPresentationAsDoing() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+
+        assertTrue(inboxRepository.saveIfAbsentAsProcessing(presentationId));
+
+        InboxEntity entity = find(presentationId);
+        assertEquals("DOING", entity.getStatus());
+        assertNotNull(entity.getAttemptedAt());
+        assertEquals(0, inboxRepository.tryMarkAsProcessing(presentationId));
+    }
+
+    @Test
+    void shouldResetClaimedPresentationLeftDoing() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+        inboxRepository.saveIfAbsentAsProcessing(presentationId);
+        // The instance that claimed it on receive died before markAsProcessed or markAsUnprocessed
+
+        int reset = inboxRepository.resetStuckDoingItems(LocalDateTime.now().plusSeconds(1));
+
+        assertTrue(reset >= 1);
+        InboxEntity entity = find(presentationId);
+        assertEquals("PENDING", entity.getStatus());
+        assertEquals(0, entity.getRetryCount());
+        assertEquals(1, inboxRepository.tryMarkAsProcessing(presentationId));
+    }
+
+    @Test
+    void shouldNotResetClaimedPresentationStillInProgress() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+        inboxRepository.saveIfAbsentAsProcessing(presentationId);
+
+        inboxRepository.resetStuckDoingItems(LocalDateTime.now().minusMinutes(10));
+
+        assertEquals("DOING", find(presentationId).getStatus());
+    }
+
+    @Test
+    void shouldReleaseClaimedPresentationWithRetryCount() {
+        PresentationId presentationId = PresentationId.of(UUID.randomUUID());
+        inboxRepository.saveIfAbsentAsProcessing(presentationId);
+
+        inboxRepository.markAsUnprocessed(presentationId);
+
+        assertEquals("PENDING", find(presentationId).getStatus());
+        assertEquals(1, inboxRepository.getRetryCount(presentationId));
+    }
+
+    private InboxEntity find(PresentationId presentationId) {
+        return QuarkusTransaction.requiringNew().call(() -> inboxEntityRepository
+                .find("formId", presentationId.value())
+                .firstResult());
+    }
+}
@@ -0,0 +1,209 @@
+package com.formpresentationreceiver.infrastructure.transaction;
+
+import com.formpresentationreceiver.domain.model.PresentationId;
+import com.formpresentationreceiver.domain.port.input.ReceiveFormCreatedCommand;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchingReceiveFormCreatedCommandTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private StubReceiveCommand delegate;
+    private ExecutorService consumers;
+    private BatchingReceiveFormCreatedCommand batching;
+
+    @BeforeEach
+    void setUp() {
+        delegate = new StubReceiveCommand();
+        consumers = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batching != null) {
+            batching.close();
+        }
+        consumers.shutdownNow();
+    }
+
+    @Test
+    void shouldWriteBatchWhenWindowEnds() {
+        batching = new BatchingReceiveFormCreatedCommand(delegate, 64, Duration.ofMillis(50));
+        PresentationId id = newId();
+
+        assertTrue(batching.execute(id));
+        assertEquals(List.of(List.of(id)), delegate.batches);
+    }
+
+    @Test
+    void shouldWriteBatchWhenFull() throws Exception {
+        batching = new BatchingReceiveFormCreatedCommand(delegate, 3, Duration.ofSeconds(30));
+        List<PresentationId> ids = List.of(newId(), newId(), newId());
+
+        List<Future<Boolean>> results = receiveConcurrently(ids);
+
+        // Well before the window ends
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertEquals(1, delegate.batches.size());
+        assertEquals(new HashSet<>(ids), new HashSet<>(delegate.batches.get(0)));
+    }
+
+    @Test
+    void shouldReportRepeatedIdAsNewToFirstCallerOnly() throws Exception {
+        batching = new BatchingReceiveFormCreatedCommand(delegate, 3, Duration.ofSeconds(30));
+        PresentationId repeated = newId();
+        PresentationId other = newId();
+
+        Future<Boolean> first = consumers.submit(() -> batching.execute(repeated));
+        Future<Boolean> second = consumers.submit(() -> batching.execute(repeated));
+        Future<Boolean> third = consumers.submit(() -> batching.execute(other));
+
+        assertTrue(third.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        boolean firstNew = first.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        boolean secondNew = second.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(firstNew ^ secondNew);
+        assertEquals(1, delegate.batches.size());
+    }
+
+    @Test
+    void shouldReportAlreadyReceivedIdAsNotNew() {
+        batching = new BatchingReceiveFormCreatedCommand(delegate, 64, Duration.ofMillis(1));
+        PresentationId id = newId();
+
+        assertTrue(batching.execute(id));
+        assertFalse(batching.execute(id));
+    }
+
+    @Test
+    void shouldRetryEachEventAloneWhenBatchFails() throws Exception {
+        PresentationId poisoned = newId();
+        delegate.failBatchesOver = 1;
+        delegate.poisoned = poisoned;
+        batching = new BatchingReceiveFormCreatedCommand(delegate, 3, Duration.ofSeconds(30));
+        PresentationId first = newId();
+        PresentationId third = newId();
+
+        List<Future<Boolean>> results = receiveConcurrently(List.of(first, poisoned, third));
+
+        assertTrue(results.get(0).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(results.get(2).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> results.get(1).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals("cannot store " + poisoned, failure.getCause().getMessage());
+        // One failed batch, then one transaction per event
+        assertEquals(4, delegate.batches.size());
+        assertEquals(3, delegate.batches.get(0).size());
+    }
+
+    @Test
+    void shouldWriteQueuedEventsBeforeShuttingDown() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        delegate.writing = writing;
+        delegate.release = release;
+        batching = new BatchingReceiveFormCreatedCommand(delegate, 1, Duration.ofMillis(1));
+
+        Future<Boolean> inFlight = consumers.submit(() -> batching.execute(newId()));
+        assertTrue(writing.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Future<Boolean> queued = consumers.submit(() -> batching.execute(newId()));
+        Future<?> closing = consumers.submit(() -> {
+            // Let the second event reach the queue before shutting down
+            Thread.sleep(200);
+            batching.close();
+            return null;
+        });
+        Thread.sleep(400);
+        release.countDown();
+
+        closing.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(inFlight.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(queued.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, delegate.batches.size());
+    }
+
+    @Test
+    void shouldRejectEventsAfterShutdown() {
+        batching = new BatchingReceiveFormCreatedCommand(delegate, 64, Duration.ofMillis(1));
+        batching.close();
+
+        assertThrows(IllegalStateException.class, () -> batching.execute(newId()));
+        assertTrue(delegate.batches.isEmpty());
+    }
+
+    private List<Future<Boolean>> receiveConcurrently(List<PresentationId> ids) {
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (PresentationId id : ids) {
+            results.add(consumers.submit(() -> batching.execute(id)));
+        }
+        return results;
+    }
+
+    private static PresentationId newId() {
+        return PresentationId.of(UUID.randomUUID());
+    }
+
+    /**
+     * Inbox stand-in: executeBatch returns the ids it has not seen before, once each, like the
+     * insert-if-absent of the real use case.
+     */
+    private static class StubReceiveCommand implements ReceiveFormCreatedCommand {
+
+        private final List<List<PresentationId>> batches = new CopyOnWriteArrayList<>();
+        private final Set<PresentationId> received = new HashSet<>();
+        private int failBatchesOver = Integer.MAX_VALUE;
+        private PresentationId poisoned;
+        private CountDownLatch writing;
+        private CountDownLatch release;
+
+        @Override
+        public boolean execute(PresentationId presentationId) {
+            return !executeBatch(List.of(presentationId)).isEmpty();
+        }
+
+        @Override
+        public synchronized List<PresentationId> executeBatch(List<PresentationId> presentationIds) {
+            batches.add(List.copyOf(presentationIds));
+            if (writing != null) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (presentationIds.size() > failBatchesOver) {
+                throw new IllegalStateException("batch failed");
+            }
+            if (presentationIds.contains(poisoned)) {
+                throw new IllegalStateException("cannot store " + poisoned);
+            }
+            List<PresentationId> inserted = new ArrayList<>();
+            for (PresentationId id : presentationIds) {
+                if (received.add(id)) {
+                    inserted.add(id);
+                }
+            }
+            return inserted;
+        }
+    }
+}